@@ -0,0 +1,110 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import db.ConnectionPool;
+import db.DB;
+import db.DbException;
+import db.migration.MigrationRunner;
+import model.dao.DepartmentDao;
+import model.dao.SellerDao;
+import model.dao.impl.DepartmentDaoJDBC;
+import model.dao.impl.SellerDaoJDBC;
+import model.entities.Department;
+import model.entities.Seller;
+
+public class BenchmarkDatabase {
+
+	private static final String[] FIRST_NAMES = { "Alex", "Bob", "Donald", "Maria", "Martha", "Greg", "Ana", "Joao",
+			"Igor", "Lucas", "Paula", "Rita" };
+	private static final String[] LAST_NAMES = { "Brown", "Green", "Grey", "Red", "Blue", "Pink", "Silva", "Souza",
+			"Oliveira", "Costa" };
+
+	private static int counter;
+
+	public static ConnectionPool create(int sellers, int departments, int poolSize) {
+		return create(sellers, departments, poolSize, 50);
+	}
+
+	public static ConnectionPool create(int sellers, int departments, int poolSize, int statementCacheSize) {
+		Properties props = new Properties();
+		props.setProperty("user", "sa");
+		props.setProperty("password", "");
+		props.setProperty("pool.minSize", "1");
+		props.setProperty("pool.maxSize", String.valueOf(poolSize));
+		props.setProperty("pool.statementCacheSize", String.valueOf(statementCacheSize));
+		String url = "jdbc:h2:mem:benchmark" + (++counter) + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+		ConnectionPool pool = new ConnectionPool(url, props);
+		runScript(pool, System.getProperty("benchmark.schema", "../database.sql"));
+		new MigrationRunner(pool).migrate();
+		generate(pool, sellers, departments);
+		return pool;
+	}
+
+	private static void runScript(ConnectionPool pool, String path) {
+		Connection conn = null;
+		Statement st = null;
+		try {
+			String script = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+			conn = pool.getConnection();
+			st = conn.createStatement();
+			for (String sql : script.split(";")) {
+				if (!sql.trim().isEmpty()) {
+					st.execute(sql);
+				}
+			}
+		}
+		catch (IOException | SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		}
+	}
+
+	private static void generate(ConnectionPool pool, int sellers, int departments) {
+		DepartmentDao departmentDao = new DepartmentDaoJDBC(pool);
+		List<Department> newDepartments = new ArrayList<>();
+		for (int i = departmentDao.findAll().size(); i < departments; i++) {
+			newDepartments.add(new Department(null, "Department " + i));
+		}
+		departmentDao.insertAll(newDepartments, 1000);
+		List<Department> allDepartments = departmentDao.findAll();
+
+		SellerDao sellerDao = new SellerDaoJDBC(pool);
+		Random random = new Random(42);
+		int existing = sellerDao.findAll().size();
+		List<Seller> chunk = new ArrayList<>();
+		for (int i = existing; i < sellers; i++) {
+			chunk.add(randomSeller(random, allDepartments, i));
+			if (chunk.size() == 10000) {
+				sellerDao.insertAll(chunk, 1000);
+				chunk.clear();
+			}
+		}
+		sellerDao.insertAll(chunk, 1000);
+	}
+
+	public static Seller randomSeller(Random random, List<Department> departments, int sequence) {
+		String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+		String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+		String name = first + " " + last + " " + sequence;
+		String email = first.toLowerCase() + "." + sequence + "@example.com";
+		Date birthDate = new Date(-315619200000L + (long) (random.nextDouble() * 1262304000000L));
+		double baseSalary = 1000 + random.nextInt(9000);
+		Department department = departments.get(random.nextInt(departments.size()));
+		return new Seller(null, name, email, birthDate, baseSalary, department);
+	}
+}
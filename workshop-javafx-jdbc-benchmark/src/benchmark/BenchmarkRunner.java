@@ -0,0 +1,35 @@
+package benchmark;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : "benchmark\\..*DaoBenchmark";
+		String[] threadCounts = (args.length > 1 ? args[1] : "1,4,8").split(",");
+		String[] profilers = args.length > 2 ? args[2].split(",") : new String[0];
+
+		File results = new File("results");
+		results.mkdirs();
+
+		for (String threads : threadCounts) {
+			ChainedOptionsBuilder builder = new OptionsBuilder()
+					.include(include)
+					.threads(Integer.parseInt(threads.trim()))
+					.resultFormat(ResultFormatType.JSON)
+					.result(new File(results, "jmh-threads-" + threads.trim() + ".json").getPath());
+			for (String profiler : profilers) {
+				builder.addProfiler(profiler.trim());
+			}
+			Options options = builder.build();
+			new Runner(options).run();
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import db.ConnectionPool;
+import model.dao.DepartmentDao;
+import model.dao.impl.DepartmentDaoJDBC;
+import model.entities.Department;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DepartmentDaoBenchmark {
+
+	@Param({ "10", "1000" })
+	public int departments;
+
+	ConnectionPool pool;
+	DepartmentDao dao;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		pool = BenchmarkDatabase.create(0, departments, 16);
+		dao = new DepartmentDaoJDBC(pool);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.close();
+	}
+
+	@Benchmark
+	public Department findById() {
+		return dao.findById(1 + ThreadLocalRandom.current().nextInt(departments));
+	}
+
+	@Benchmark
+	public List<Department> findAll() {
+		return dao.findAll();
+	}
+
+	@Benchmark
+	public Department insertAndDelete() {
+		Department obj = new Department(null, "Benchmark");
+		dao.insert(obj);
+		dao.deleteById(obj.getId());
+		return obj;
+	}
+
+	@Benchmark
+	public Department update() {
+		Department obj = new Department(1 + ThreadLocalRandom.current().nextInt(departments), "Updated");
+		dao.update(obj);
+		return obj;
+	}
+}
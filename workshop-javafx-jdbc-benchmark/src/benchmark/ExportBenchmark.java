@@ -0,0 +1,104 @@
+package benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import db.ConnectionPool;
+import model.dao.impl.DepartmentDaoJDBC;
+import model.dao.impl.SellerDaoJDBC;
+import model.services.ExportFormat;
+import model.services.ExportResult;
+import model.services.ExportService;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(ExportBenchmark.SELLERS)
+public class ExportBenchmark {
+
+	static final int SELLERS = 100000;
+
+	@Param({ "CSV", "NDJSON" })
+	public ExportFormat format;
+
+	@Param({ "false", "true" })
+	public boolean compress;
+
+	ConnectionPool pool;
+	ExportService service;
+	Path directory;
+	Path file;
+	List<MemoryPoolMXBean> tenuredPools = new ArrayList<>();
+	long baselineBytes;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		pool = BenchmarkDatabase.create(SELLERS, 10, 1);
+		service = new ExportService(new SellerDaoJDBC(pool), new DepartmentDaoJDBC(pool));
+		directory = Files.createTempDirectory("export-benchmark");
+		file = directory.resolve("sellers" + format.getExtension() + (compress ? ".gz" : ""));
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			// young generation pools do not support usage thresholds, what is left is the old generation
+			if (memoryPool.getType() == MemoryType.HEAP && memoryPool.isUsageThresholdSupported()) {
+				tenuredPools.add(memoryPool);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(directory);
+		pool.close();
+	}
+
+	@Setup(Level.Iteration)
+	public void resetPeakUsage() {
+		System.gc();
+		baselineBytes = 0;
+		for (MemoryPoolMXBean memoryPool : tenuredPools) {
+			memoryPool.resetPeakUsage();
+			baselineBytes += memoryPool.getUsage().getUsed();
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void reportPeakUsage() {
+		long peakBytes = 0;
+		for (MemoryPoolMXBean memoryPool : tenuredPools) {
+			peakBytes += memoryPool.getPeakUsage().getUsed();
+		}
+		System.out.printf("%n  old generation peak above baseline: %.1f MB (baseline %.1f MB)%n",
+				(peakBytes - baselineBytes) / 1048576.0, baselineBytes / 1048576.0);
+	}
+
+	@Benchmark
+	public ExportResult exportSellers() throws IOException {
+		return service.exportSellers(file, format, compress, ExportService.DEFAULT_FETCH_SIZE, rows -> {}, () -> false);
+	}
+}
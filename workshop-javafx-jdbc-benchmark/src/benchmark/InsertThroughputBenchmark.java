@@ -0,0 +1,119 @@
+package benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import db.ConnectionPool;
+import db.DbException;
+import model.dao.SellerDao;
+import model.dao.impl.DepartmentDaoJDBC;
+import model.dao.impl.SellerDaoJDBC;
+import model.entities.Department;
+import model.entities.Seller;
+
+// Rows per second written by SellerDao.insertAll; the "rows" line of the results is the figure to compare,
+// the primary score counts whole insertAll calls.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class InsertThroughputBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	public int rows;
+
+	@Param({ "100", "1000", "10000" })
+	public int chunkSize;
+
+	ConnectionPool pool;
+	SellerDao dao;
+	List<Seller> sellers;
+	int lastSeededId;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class RowCounter {
+
+		public long rows;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			rows = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		pool = BenchmarkDatabase.create(0, 10, 2);
+		dao = new SellerDaoJDBC(pool);
+		List<Department> departments = new DepartmentDaoJDBC(pool).findAll();
+		Random random = new Random(42);
+		sellers = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			sellers.add(BenchmarkDatabase.randomSeller(random, departments, i));
+		}
+		lastSeededId = maxId();
+	}
+
+	// every call inserts the same sellers into a table of the same size
+	@TearDown(Level.Invocation)
+	public void removeInserted() {
+		for (Seller seller : sellers) {
+			seller.setId(null);
+		}
+		try (Connection conn = pool.getConnection();
+				PreparedStatement st = conn.prepareStatement("DELETE FROM seller WHERE Id > ?")) {
+			st.setInt(1, lastSeededId);
+			st.executeUpdate();
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.close();
+	}
+
+	private int maxId() {
+		try (Connection conn = pool.getConnection(); Statement st = conn.createStatement();
+				ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(Id), 0) FROM seller")) {
+			rs.next();
+			return rs.getInt(1);
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+	}
+
+	@Benchmark
+	public void insertAll(RowCounter counter) {
+		dao.insertAll(sellers, chunkSize);
+		counter.rows += sellers.size();
+	}
+}
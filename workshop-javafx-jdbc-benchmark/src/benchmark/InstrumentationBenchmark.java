@@ -0,0 +1,72 @@
+package benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import db.ConnectionPool;
+import metrics.MetricsRegistry;
+import metrics.OperationMetrics;
+import model.dao.SellerDao;
+import model.dao.impl.InstrumentedSellerDao;
+import model.dao.impl.SellerDaoJDBC;
+import model.entities.Seller;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+
+	private static final int SELLERS = 1000;
+
+	ConnectionPool pool;
+	SellerDao plain;
+	SellerDao instrumented;
+	OperationMetrics operation;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		pool = BenchmarkDatabase.create(SELLERS, 10, 16);
+		MetricsRegistry registry = new MetricsRegistry();
+		plain = new SellerDaoJDBC(pool);
+		instrumented = new InstrumentedSellerDao(plain, registry);
+		operation = registry.operation("benchmark", "");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.close();
+	}
+
+	@Benchmark
+	public long record() {
+		long start = System.nanoTime();
+		operation.success(start, 1);
+		return start;
+	}
+
+	@Benchmark
+	public Seller findByIdPlain() {
+		return plain.findById(1 + ThreadLocalRandom.current().nextInt(SELLERS));
+	}
+
+	@Benchmark
+	public Seller findByIdInstrumented() {
+		return instrumented.findById(1 + ThreadLocalRandom.current().nextInt(SELLERS));
+	}
+}
@@ -0,0 +1,122 @@
+package benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import db.ConnectionPool;
+import db.PoolStatistics;
+
+public class PoolStressCheck {
+
+	private static final int SELLERS = 10000;
+
+	private static final int[] POOL_SIZES = { 1, 8 };
+
+	public static void main(String[] args) throws InterruptedException {
+		int callers = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+		int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+		long holdMillis = args.length > 2 ? Long.parseLong(args[2]) : 2;
+
+		int failures = 0;
+		for (int poolSize : POOL_SIZES) {
+			failures += run(poolSize, callers, operations, holdMillis);
+		}
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+	// every caller borrows, queries and holds the connection for a while, standing in for the network round
+	// trip to MySQL, so a larger pool shows up as throughput even on a single core
+	private static int run(int poolSize, int callers, int operations, long holdMillis) throws InterruptedException {
+		ConnectionPool pool = BenchmarkDatabase.create(SELLERS, 10, poolSize);
+		try {
+			AtomicInteger borrowed = new AtomicInteger();
+			AtomicInteger maxBorrowed = new AtomicInteger();
+			AtomicInteger errors = new AtomicInteger();
+			long[][] latencies = new long[callers][operations];
+			CountDownLatch start = new CountDownLatch(1);
+			List<Thread> threads = new ArrayList<>();
+			for (int c = 0; c < callers; c++) {
+				long[] callerLatencies = latencies[c];
+				Thread t = new Thread(() -> {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					for (int i = 0; i < operations; i++) {
+						long begin = System.nanoTime();
+						try (Connection conn = pool.getConnection()) {
+							maxBorrowed.accumulateAndGet(borrowed.incrementAndGet(), Math::max);
+							try (PreparedStatement st = conn.prepareStatement("SELECT Name FROM seller WHERE Id = ?")) {
+								st.setInt(1, 1 + ThreadLocalRandom.current().nextInt(SELLERS));
+								try (ResultSet rs = st.executeQuery()) {
+									if (!rs.next()) {
+										errors.incrementAndGet();
+									}
+								}
+							}
+							Thread.sleep(holdMillis);
+							borrowed.decrementAndGet();
+						}
+						catch (SQLException | RuntimeException e) {
+							errors.incrementAndGet();
+						}
+						catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+							return;
+						}
+						callerLatencies[i] = System.nanoTime() - begin;
+					}
+				}, "pool-stress-" + c);
+				threads.add(t);
+				t.start();
+			}
+			long begin = System.nanoTime();
+			start.countDown();
+			for (Thread t : threads) {
+				t.join();
+			}
+			double seconds = (System.nanoTime() - begin) / 1e9;
+
+			long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+			PoolStatistics stats = pool.getStatistics();
+			System.out.printf("pool %d, %d callers x %d ops: %.0f ops/s, p50 %.1f ms, p99 %.1f ms, max borrowed %d%n",
+					poolSize, callers, operations, all.length / seconds, all[all.length / 2] / 1e6,
+					all[(int) (all.length * 0.99)] / 1e6, maxBorrowed.get());
+			System.out.println("  " + stats);
+
+			int failures = 0;
+			failures += check(errors.get() == 0, errors.get() + " operation(s) failed");
+			failures += check(stats.getTimeoutCount() == 0, stats.getTimeoutCount() + " borrow timeout(s)");
+			failures += check(maxBorrowed.get() <= poolSize, "more connections out than the pool size");
+			failures += check(stats.getCreatedCount() - stats.getEvictedCount() <= poolSize,
+					"more physical connections open than the pool size");
+			failures += check(stats.getActive() == 0, stats.getActive() + " connection(s) not returned");
+			failures += check(stats.getLeakCount() == 0, stats.getLeakCount() + " leak(s) reported");
+			return failures;
+		}
+		finally {
+			pool.close();
+		}
+	}
+
+	private static int check(boolean ok, String message) {
+		if (ok) {
+			return 0;
+		}
+		System.out.println("  FAILED: " + message);
+		return 1;
+	}
+}
@@ -0,0 +1,208 @@
+package benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import db.ConnectionPool;
+import db.ConnectionProvider;
+import model.dao.SellerCriteria;
+import model.dao.SellerSortKey;
+import model.dao.impl.DepartmentDaoJDBC;
+import model.dao.impl.SellerDaoJDBC;
+import model.entities.Department;
+import model.entities.Seller;
+
+public class QueryPlanCheck {
+
+	private static final String[] TABLES = { "SELLER", "DEPARTMENT" };
+
+	private final Map<String, String> plans = new LinkedHashMap<>();
+
+	public static void main(String[] args) {
+		ConnectionPool pool = BenchmarkDatabase.create(20000, 10, 2);
+		try {
+			QueryPlanCheck check = new QueryPlanCheck();
+			check.exercise(check.explaining(pool));
+			int failures = check.report();
+			if (failures > 0) {
+				System.exit(1);
+			}
+		}
+		finally {
+			pool.close();
+		}
+	}
+
+	private void exercise(ConnectionProvider provider) {
+		SellerDaoJDBC sellerDao = new SellerDaoJDBC(provider);
+		DepartmentDaoJDBC departmentDao = new DepartmentDaoJDBC(provider);
+		Department department = new Department(1, null);
+
+		departmentDao.findById(1);
+		departmentDao.findAll();
+
+		Seller first = sellerDao.findById(1);
+		sellerDao.findAll();
+		sellerDao.findByDepartment(department);
+		sellerDao.findPage(null, null, 50);
+		sellerDao.findPage(first.getName(), first.getId(), 50);
+		sellerDao.findPageByDepartment(department, first.getName(), first.getId(), 50);
+		try (Stream<Seller> stream = sellerDao.streamAll(100)) {
+			stream.limit(10).count();
+		}
+		try (Stream<Seller> stream = sellerDao.streamAll(100, Map.of(1, department))) {
+			stream.limit(10).count();
+		}
+
+		SellerCriteria criteria = new SellerCriteria();
+		criteria.setNamePrefix("Alex B");
+		sellerDao.findByCriteria(criteria);
+
+		criteria = new SellerCriteria();
+		criteria.setEmailPrefix("maria.1");
+		sellerDao.findByCriteria(criteria);
+
+		criteria = new SellerCriteria();
+		criteria.setMinBaseSalary(9990.0);
+		sellerDao.findByCriteria(criteria);
+
+		criteria = new SellerCriteria();
+		criteria.setBirthDateFrom(new Date(0));
+		criteria.setBirthDateBefore(new Date(86400000L * 3));
+		sellerDao.findByCriteria(criteria);
+
+		criteria = new SellerCriteria();
+		criteria.setDepartmentIds(new HashSet<>(Arrays.asList(1, 2)));
+		sellerDao.findByCriteria(criteria);
+
+		criteria = new SellerCriteria();
+		sellerDao.countByCriteria(criteria);
+		for (SellerSortKey key : SellerSortKey.values()) {
+			criteria.setSort(key, true);
+			sellerDao.findRange(criteria, 1000, 50);
+			criteria.setSort(key, false);
+			sellerDao.findRange(criteria, 1000, 50);
+		}
+	}
+
+	private int report() {
+		int failures = 0;
+		for (Map.Entry<String, String> entry : plans.entrySet()) {
+			String plan = entry.getValue();
+			boolean fullScan = false;
+			for (String table : TABLES) {
+				if (plan.contains(table + ".tableScan")) {
+					fullScan = true;
+				}
+			}
+			// H2 cannot read an index backwards; MySQL does, so a descending read passes when its ascending
+			// twin uses the index
+			if (fullScan && isBackwardsOfIndexedRead(entry.getKey())) {
+				System.out.println("h2 only    " + entry.getKey());
+				continue;
+			}
+			if (fullScan) {
+				failures++;
+			}
+			System.out.println((fullScan ? "FULL SCAN  " : "ok         ") + entry.getKey());
+			if (fullScan) {
+				System.out.println(plan);
+			}
+		}
+		System.out.println(plans.size() + " statements checked, " + failures + " full scan(s)");
+		return failures;
+	}
+
+	private boolean isBackwardsOfIndexedRead(String sql) {
+		if (!sql.contains(" DESC")) {
+			return false;
+		}
+		String plan = plans.get(sql.replace(" DESC", ""));
+		if (plan == null) {
+			return false;
+		}
+		for (String table : TABLES) {
+			if (plan.contains(table + ".tableScan")) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private ConnectionProvider explaining(ConnectionPool pool) {
+		return new ConnectionProvider() {
+			@Override
+			public Connection getConnection() {
+				Connection conn = pool.getConnection();
+				return (Connection) Proxy.newProxyInstance(QueryPlanCheck.class.getClassLoader(),
+						new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+							Object result = invoke(conn, method, args);
+							if (method.getName().equals("prepareStatement") && isQuery((String) args[0])) {
+								return explainOnExecute(conn, (String) args[0], (PreparedStatement) result);
+							}
+							return result;
+						});
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+
+	private PreparedStatement explainOnExecute(Connection conn, String sql, PreparedStatement st) {
+		Map<Integer, Object> parameters = new TreeMap<>();
+		return (PreparedStatement) Proxy.newProxyInstance(QueryPlanCheck.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+					if (method.getName().startsWith("set") && args != null && args.length >= 2
+							&& args[0] instanceof Integer && method.getName().length() > 3
+							&& !method.getName().equals("setFetchSize")) {
+						parameters.put((Integer) args[0], args[1]);
+					}
+					else if (method.getName().equals("executeQuery")) {
+						plans.put(sql, explain(conn, sql, parameters));
+					}
+					return invoke(st, method, args);
+				});
+	}
+
+	private static String explain(Connection conn, String sql, Map<Integer, Object> parameters) throws SQLException {
+		try (PreparedStatement st = conn.prepareStatement("EXPLAIN " + sql)) {
+			for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+				st.setObject(parameter.getKey(), parameter.getValue());
+			}
+			try (ResultSet rs = st.executeQuery()) {
+				StringBuilder plan = new StringBuilder();
+				while (rs.next()) {
+					plan.append(rs.getString(1)).append('\n');
+				}
+				return plan.toString();
+			}
+		}
+	}
+
+	private static boolean isQuery(String sql) {
+		return sql.trim().toUpperCase().startsWith("SELECT");
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
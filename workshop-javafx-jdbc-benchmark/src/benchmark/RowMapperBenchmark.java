@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import db.ConnectionPool;
+import model.dao.impl.RowMapper;
+import model.dao.impl.SellerRowMapper;
+import model.entities.Department;
+import model.entities.Seller;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(RowMapperBenchmark.ROWS)
+public class RowMapperBenchmark {
+
+	static final int ROWS = 10000;
+
+	ConnectionPool pool;
+	Connection conn;
+	PreparedStatement st;
+	ResultSet rs;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		pool = BenchmarkDatabase.create(ROWS, 10, 1);
+		conn = pool.getConnection();
+		st = conn.prepareStatement(
+				"SELECT seller.*,"
+				+ "(SELECT department.Name FROM department WHERE department.Id = seller.DepartmentId) as DepName "
+				+ "FROM seller "
+				+ "ORDER BY seller.Id LIMIT " + ROWS,
+				ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+		rs = st.executeQuery();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		rs.close();
+		st.close();
+		conn.close();
+		pool.close();
+	}
+
+	@Benchmark
+	public List<Seller> byLabel() throws SQLException {
+		rs.beforeFirst();
+		List<Seller> list = new ArrayList<>();
+		Map<Integer, Department> map = new HashMap<>();
+		while (rs.next()) {
+			Department dep = map.get(rs.getInt("DepartmentId"));
+			if (dep == null) {
+				dep = new Department();
+				dep.setId(rs.getInt("DepartmentId"));
+				dep.setName(rs.getString("DepName"));
+				map.put(rs.getInt("DepartmentId"), dep);
+			}
+			Seller obj = new Seller();
+			obj.setId(rs.getInt("Id"));
+			obj.setName(rs.getString("Name"));
+			obj.setEmail(rs.getString("Email"));
+			obj.setBaseSalary(rs.getDouble("BaseSalary"));
+			obj.setBirthDate(new java.util.Date(rs.getTimestamp("BirthDate").getTime()));
+			obj.setDepartment(dep);
+			list.add(obj);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public List<Seller> byIndex() throws SQLException {
+		rs.beforeFirst();
+		return RowMapper.mapAll(rs, SellerRowMapper::new);
+	}
+}
@@ -0,0 +1,152 @@
+package benchmark;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import db.ConnectionPool;
+import model.dao.SellerDao;
+import model.dao.impl.DepartmentDaoJDBC;
+import model.dao.impl.SellerDaoJDBC;
+import model.entities.Department;
+import model.entities.Seller;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SellerDaoBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int sellers;
+
+	@Param({ "10" })
+	public int departments;
+
+	ConnectionPool pool;
+	SellerDao dao;
+	List<Department> departmentList;
+	int maxId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		pool = BenchmarkDatabase.create(sellers, departments, 16);
+		dao = new SellerDaoJDBC(pool);
+		departmentList = new DepartmentDaoJDBC(pool).findAll();
+		maxId = sellers;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.close();
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadState {
+
+		Random random = new Random();
+		Deque<Integer> deletable = new ArrayDeque<>();
+		int sequence;
+
+		@Setup(Level.Iteration)
+		public void setUp(SellerDaoBenchmark benchmark) {
+			refill(benchmark);
+		}
+
+		void refill(SellerDaoBenchmark benchmark) {
+			List<Seller> list = new ArrayList<>();
+			for (int i = 0; i < 1000; i++) {
+				list.add(BenchmarkDatabase.randomSeller(random, benchmark.departmentList, sequence++));
+			}
+			benchmark.dao.insertAll(list, 1000);
+			for (Seller obj : list) {
+				deletable.add(obj.getId());
+			}
+		}
+	}
+
+	// a pool of its own so only findById runs once with the statement cache off and once with it on
+	@State(Scope.Benchmark)
+	public static class StatementCacheState {
+
+		@Param({ "0", "50" })
+		public int statementCacheSize;
+
+		ConnectionPool pool;
+		SellerDao dao;
+
+		@Setup(Level.Trial)
+		public void setUp(SellerDaoBenchmark benchmark) {
+			pool = BenchmarkDatabase.create(benchmark.sellers, benchmark.departments, 16, statementCacheSize);
+			dao = new SellerDaoJDBC(pool);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			pool.close();
+		}
+	}
+
+	private int randomId() {
+		return 1 + ThreadLocalRandom.current().nextInt(maxId);
+	}
+
+	@Benchmark
+	public Seller findById(StatementCacheState state) {
+		return state.dao.findById(randomId());
+	}
+
+	@Benchmark
+	public List<Seller> findAll() {
+		return dao.findAll();
+	}
+
+	@Benchmark
+	public List<Seller> findByDepartment() {
+		return dao.findByDepartment(departmentList.get(ThreadLocalRandom.current().nextInt(departmentList.size())));
+	}
+
+	@Benchmark
+	public Seller insert(ThreadState state) {
+		Seller obj = BenchmarkDatabase.randomSeller(state.random, departmentList, state.sequence++);
+		dao.insert(obj);
+		state.deletable.add(obj.getId());
+		return obj;
+	}
+
+	@Benchmark
+	public Seller update(ThreadState state) {
+		Seller obj = BenchmarkDatabase.randomSeller(state.random, departmentList, state.sequence++);
+		obj.setId(randomId());
+		dao.update(obj);
+		return obj;
+	}
+
+	@Benchmark
+	public void deleteById(ThreadState state) {
+		if (state.deletable.isEmpty()) {
+			state.refill(this);
+		}
+		dao.deleteById(state.deletable.poll());
+	}
+}
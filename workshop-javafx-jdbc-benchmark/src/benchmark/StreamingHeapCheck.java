@@ -0,0 +1,197 @@
+package benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import db.ConnectionPool;
+import model.dao.SellerDao;
+import model.dao.impl.SellerDaoJDBC;
+import model.entities.Seller;
+
+public class StreamingHeapCheck {
+
+	private static final String CHILD_PROPERTY = "benchmark.streaming.child";
+
+	private static final int FETCH_SIZE = 500;
+
+	private static final int REQUEST_SIZE = 256;
+
+	// far below what half of the sellers take once collected into a list, far above a fetch window of them
+	private static final long RETAINED_LIMIT_BYTES = 8 * 1048576L;
+
+	private long baselineBytes;
+
+	private volatile long retainedBytes;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int sellers = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		String heap = args.length > 1 ? args[1] : "256m";
+
+		if (!Boolean.getBoolean(CHILD_PROPERTY)) {
+			System.exit(fork(sellers, heap));
+		}
+
+		ConnectionPool pool = BenchmarkDatabase.create(sellers, 10, 2);
+		int failures = 0;
+		try {
+			StreamingHeapCheck check = new StreamingHeapCheck();
+			SellerDao dao = new SellerDaoJDBC(pool);
+			failures += check.run("stream", pool, sellers, (probeAt, probe) -> streamAll(dao, probeAt, probe));
+			failures += check.run("publisher", pool, sellers, (probeAt, probe) -> publishAll(dao, probeAt, probe));
+		}
+		catch (OutOfMemoryError e) {
+			System.out.println("  FAILED: out of memory with -Xmx" + heap);
+			failures++;
+		}
+		finally {
+			pool.close();
+		}
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+	// the heap cap is part of the check, so it runs in a child JVM with exactly that -Xmx
+	private static int fork(int sellers, String heap) throws IOException, InterruptedException {
+		String java = ProcessHandle.current().info().command().orElse("java");
+		List<String> command = new ArrayList<>();
+		command.add(java);
+		command.add("-Xmx" + heap);
+		command.add("-D" + CHILD_PROPERTY + "=true");
+		String schema = System.getProperty("benchmark.schema");
+		if (schema != null) {
+			command.add("-Dbenchmark.schema=" + schema);
+		}
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(StreamingHeapCheck.class.getName());
+		command.add(String.valueOf(sellers));
+		command.add(heap);
+		return new ProcessBuilder(command).inheritIO().start().waitFor();
+	}
+
+	private int run(String path, ConnectionPool pool, int expected, RowCount rowCount) throws InterruptedException {
+		baselineBytes = usedAfterGc();
+		retainedBytes = -1;
+		long begin = System.nanoTime();
+		long rows = rowCount.count(expected / 2, () -> retainedBytes = usedAfterGc() - baselineBytes);
+		double seconds = (System.nanoTime() - begin) / 1e9;
+		System.out.printf("%s: %d rows in %.1f s, heap retained halfway %.1f MB (baseline %.1f MB, max heap %d MB)%n",
+				path, rows, seconds, retainedBytes / 1048576.0, baselineBytes / 1048576.0,
+				Runtime.getRuntime().maxMemory() / 1048576);
+
+		int failures = 0;
+		failures += check(rows == expected, rows + " rows streamed, expected " + expected);
+		failures += check(retainedBytes <= RETAINED_LIMIT_BYTES, "more than " + RETAINED_LIMIT_BYTES / 1048576
+				+ " MB retained halfway through the rows");
+		failures += check(pool.getStatistics().getActive() == 0, "connection not returned after streaming");
+		return failures;
+	}
+
+	private static long usedAfterGc() {
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	private static long streamAll(SellerDao dao, long probeAt, Runnable probe) {
+		long count = 0;
+		try (Stream<Seller> sellers = dao.streamAll(FETCH_SIZE)) {
+			Iterator<Seller> it = sellers.iterator();
+			while (it.hasNext()) {
+				it.next();
+				if (++count == probeAt) {
+					probe.run();
+				}
+			}
+		}
+		return count;
+	}
+
+	// requests in small batches, so the cursor is only read as fast as the subscriber asks for rows
+	private static long publishAll(SellerDao dao, long probeAt, Runnable probe) throws InterruptedException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountingSubscriber subscriber = new CountingSubscriber(probeAt, probe);
+			dao.publishAll(FETCH_SIZE, executor).subscribe(subscriber);
+			if (!subscriber.done.await(5, TimeUnit.MINUTES)) {
+				subscriber.subscription.cancel();
+				throw new IllegalStateException("Publisher did not complete");
+			}
+			if (subscriber.error != null) {
+				throw new IllegalStateException("Publisher failed", subscriber.error);
+			}
+			return subscriber.count;
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+	}
+
+	private static int check(boolean ok, String message) {
+		if (ok) {
+			return 0;
+		}
+		System.out.println("  FAILED: " + message);
+		return 1;
+	}
+
+	// counts the rows and runs the probe once the given number of rows has been seen
+	private interface RowCount {
+		long count(long probeAt, Runnable probe) throws InterruptedException;
+	}
+
+	private static class CountingSubscriber implements Flow.Subscriber<Seller> {
+
+		final CountDownLatch done = new CountDownLatch(1);
+		final long probeAt;
+		final Runnable probe;
+		volatile Flow.Subscription subscription;
+		volatile Throwable error;
+		volatile long count;
+		private int outstanding;
+
+		CountingSubscriber(long probeAt, Runnable probe) {
+			this.probeAt = probeAt;
+			this.probe = probe;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			outstanding = REQUEST_SIZE;
+			subscription.request(REQUEST_SIZE);
+		}
+
+		@Override
+		public void onNext(Seller item) {
+			if (++count == probeAt) {
+				probe.run();
+			}
+			if (--outstanding == 0) {
+				outstanding = REQUEST_SIZE;
+				subscription.request(REQUEST_SIZE);
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			done.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			done.countDown();
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import db.ConnectionPool;
+import gui.util.PagedObservableList;
+import javafx.application.Platform;
+import model.dao.SellerCriteria;
+import model.dao.SellerDao;
+import model.dao.impl.DepartmentDaoJDBC;
+import model.dao.impl.SellerDaoJDBC;
+import model.entities.Department;
+import model.entities.Seller;
+import model.services.SellerService;
+import model.services.ServiceExecutor;
+import model.services.ServiceRegistry;
+
+public class UiLatencyCheck {
+
+	private static final long PROBE_PERIOD_MILLIS = 10;
+
+	private final List<Long> lateness = Collections.synchronizedList(new ArrayList<>());
+
+	public static void main(String[] args) throws InterruptedException {
+		long delayMillis = args.length > 0 ? Long.parseLong(args[0]) : 500;
+		int calls = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+		long limitMillis = args.length > 2 ? Long.parseLong(args[2]) : 100;
+
+		ConnectionPool pool = BenchmarkDatabase.create(10000, 10, 4);
+		ServiceRegistry registry = new ServiceRegistry();
+		registry.register(SellerDao.class, r -> delaying(new SellerDaoJDBC(pool), delayMillis));
+		SellerService service = registry.get(SellerService.class);
+		Department department = new DepartmentDaoJDBC(pool).findAll().get(0);
+
+		CountDownLatch started = new CountDownLatch(1);
+		Platform.startup(started::countDown);
+		started.await();
+		int failures = 0;
+		try {
+			UiLatencyCheck check = new UiLatencyCheck();
+
+			// calling the DAO on the FX thread must show up as a stall, otherwise the probe proves nothing
+			long blockedMillis = check.probe("blocking", () -> {
+				CountDownLatch done = new CountDownLatch(1);
+				Platform.runLater(() -> {
+					service.findAll();
+					done.countDown();
+				});
+				done.await();
+			});
+			failures += check(blockedMillis >= delayMillis / 2,
+					"probe did not see the FX thread blocked by a " + delayMillis + " ms call");
+
+			AtomicInteger errors = new AtomicInteger();
+			AtomicInteger offThread = new AtomicInteger();
+			long asyncMillis = check.probe("async", () -> {
+				CountDownLatch done = new CountDownLatch(calls + 1);
+				Platform.runLater(() -> startCalls(service, department, calls, done, errors, offThread));
+				done.await();
+			});
+			failures += check(errors.get() == 0, errors.get() + " async call(s) failed");
+			failures += check(offThread.get() == 0, offThread.get() + " result(s) applied off the FX thread");
+			failures += check(asyncMillis <= limitMillis,
+					"FX thread was late by " + asyncMillis + " ms, limit " + limitMillis + " ms");
+		}
+		finally {
+			Platform.exit();
+			ServiceExecutor.shutdown();
+			pool.close();
+		}
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+	// the same calls the list and form controllers make, with results handed back through Platform.runLater
+	private static void startCalls(SellerService service, Department department, int calls, CountDownLatch done,
+			AtomicInteger errors, AtomicInteger offThread) {
+		for (int i = 0; i < calls; i++) {
+			CompletableFuture<?> call;
+			switch (i % 3) {
+			case 0:
+				call = service.findAllAsync();
+				break;
+			case 1:
+				SellerCriteria criteria = new SellerCriteria();
+				criteria.setNamePrefix("Maria");
+				call = service.findByCriteriaAsync(criteria);
+				break;
+			default:
+				call = service.saveOrUpdateAsync(new Seller(null, "Latency " + i, "latency." + i + "@example.com",
+						new Date(0), 1000.0, department));
+			}
+			call.whenCompleteAsync((result, e) -> complete(e, done, errors, offThread), Platform::runLater);
+		}
+
+		PagedObservableList<Seller> pagedList = new PagedObservableList<>(50, 8, 1, ServiceExecutor.getExecutor(),
+				Platform::runLater);
+		SellerCriteria criteria = new SellerCriteria();
+		pagedList.setSource(new PagedObservableList.PageSource<Seller>() {
+			@Override
+			public int count() {
+				return service.countByCriteria(criteria);
+			}
+
+			@Override
+			public List<Seller> load(int offset, int limit) {
+				return service.findRange(criteria, offset, limit);
+			}
+		});
+		pagedList.refresh().whenComplete((count, e) -> complete(e, done, errors, offThread));
+	}
+
+	private static void complete(Throwable e, CountDownLatch done, AtomicInteger errors, AtomicInteger offThread) {
+		if (e != null) {
+			errors.incrementAndGet();
+		}
+		if (!Platform.isFxApplicationThread()) {
+			offThread.incrementAndGet();
+		}
+		done.countDown();
+	}
+
+	// posts a task to the FX thread every few ms while the scenario runs and returns the worst delay seen
+	private long probe(String name, Scenario scenario) throws InterruptedException {
+		lateness.clear();
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		scheduler.scheduleAtFixedRate(() -> {
+			long posted = System.nanoTime();
+			Platform.runLater(() -> lateness.add(System.nanoTime() - posted));
+		}, 0, PROBE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+		long begin = System.nanoTime();
+		try {
+			scenario.run();
+		}
+		finally {
+			scheduler.shutdown();
+			scheduler.awaitTermination(1, TimeUnit.SECONDS);
+		}
+		double seconds = (System.nanoTime() - begin) / 1e9;
+
+		// lets the last posted probes run, a stalled FX thread leaves them queued until now
+		CountDownLatch drained = new CountDownLatch(1);
+		Platform.runLater(drained::countDown);
+		drained.await();
+		long[] sorted;
+		synchronized (lateness) {
+			sorted = lateness.stream().mapToLong(Long::longValue).sorted().toArray();
+		}
+		long maxMillis = sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000000;
+		System.out.printf("%s: %.1f s, %d probes, FX thread late p50 %.1f ms, p99 %.1f ms, max %d ms%n", name,
+				seconds, sorted.length, sorted.length == 0 ? 0 : sorted[sorted.length / 2] / 1e6,
+				sorted.length == 0 ? 0 : sorted[(int) (sorted.length * 0.99)] / 1e6, maxMillis);
+		return maxMillis;
+	}
+
+	// every DAO call sleeps first, standing in for a slow network or a busy database
+	private static SellerDao delaying(SellerDao dao, long delayMillis) {
+		return (SellerDao) Proxy.newProxyInstance(UiLatencyCheck.class.getClassLoader(),
+				new Class<?>[] { SellerDao.class }, (proxy, method, args) -> {
+					Thread.sleep(delayMillis);
+					try {
+						return method.invoke(dao, args);
+					}
+					catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private static int check(boolean ok, String message) {
+		if (ok) {
+			return 0;
+		}
+		System.out.println("  FAILED: " + message);
+		return 1;
+	}
+
+	private interface Scenario {
+		void run() throws InterruptedException;
+	}
+}
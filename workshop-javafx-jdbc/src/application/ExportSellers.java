@@ -0,0 +1,79 @@
+package application;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+import db.DB;
+import db.DbException;
+import model.services.ExportFormat;
+import model.services.ExportResult;
+import model.services.ExportService;
+import model.services.ServiceRegistry;
+
+public class ExportSellers {
+
+	private static final String USAGE =
+			"Usage: ExportSellers [--departments] [--format=csv|ndjson] [--gzip] [--fetch-size=N] <file>\n"
+			+ "Format and compression default to the file name, e.g. sellers.ndjson.gz";
+
+	public static void main(String[] args) {
+		Path file = null;
+		ExportFormat format = null;
+		Boolean compress = null;
+		boolean departments = false;
+		int fetchSize = ExportService.DEFAULT_FETCH_SIZE;
+
+		try {
+			for (String arg : args) {
+				if (arg.equals("--departments")) {
+					departments = true;
+				} else if (arg.equals("--gzip")) {
+					compress = true;
+				} else if (arg.startsWith("--format=")) {
+					format = ExportFormat.valueOf(arg.substring("--format=".length()).toUpperCase(Locale.ROOT));
+				} else if (arg.startsWith("--fetch-size=")) {
+					fetchSize = Integer.parseInt(arg.substring("--fetch-size=".length()));
+				} else if (!arg.startsWith("--") && file == null) {
+					file = Paths.get(arg);
+				} else {
+					throw new IllegalArgumentException("Unknown argument: " + arg);
+				}
+			}
+		}
+		catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			file = null;
+		}
+		if (file == null || fetchSize < 1) {
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+		if (format == null) {
+			format = ExportFormat.forFile(file);
+		}
+		if (compress == null) {
+			compress = ExportFormat.isCompressed(file);
+		}
+
+		int status = 0;
+		try {
+			ExportService service = ServiceRegistry.getDefault().get(ExportService.class);
+			ExportResult result = departments
+					? service.exportDepartments(file, format, compress)
+					: service.exportSellers(file, format, compress, fetchSize, rows -> {}, () -> false);
+			System.out.printf("Exported %d %s to %s (%d bytes) in %d ms%n", result.getRows(),
+					departments ? "departments" : "sellers", result.getFile(), result.getBytes(),
+					result.getElapsedMillis());
+		}
+		catch (IOException | DbException e) {
+			System.err.println("Export failed: " + e.getMessage());
+			status = 1;
+		}
+		finally {
+			DB.closeConnection();
+		}
+		System.exit(status);
+	}
+}
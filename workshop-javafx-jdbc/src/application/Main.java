@@ -1,36 +1,128 @@
 package application;
 
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import db.DB;
+import db.DbException;
+import db.migration.MigrationRunner;
+import gui.util.Alerts;
+import gui.util.Utils;
+import gui.util.ViewCache;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ScrollPane;
 import javafx.stage.Stage;
+import metrics.MetricsRegistry;
+import metrics.PrometheusExporter;
 
 public class Main extends Application {
 	
+	private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+	
+	private static final List<String> PRELOADED_VIEWS = List.of("/gui/SellerList.fxml", "/gui/DepartmentList.fxml",
+			"/gui/SellerForm.fxml", "/gui/DepartmentForm.fxml");
+	
 	private static Scene mainScene;
 	
+	private static CompletableFuture<Void> warmUp = CompletableFuture.completedFuture(null);
+	
+	private final StartupTimer startupTimer = new StartupTimer(MetricsRegistry.getDefault());
+	
+	private volatile PrometheusExporter metricsExporter;
+	
 	@Override
 	public void start(Stage primaryStage) {
 		try {
+			// the database is made ready while the window renders instead of on the first click
+			warmUp = CompletableFuture.runAsync(this::warmUp, r -> {
+				Thread t = new Thread(r, "startup-warm-up");
+				t.setDaemon(true);
+				t.start();
+			});
 			FXMLLoader loader = new FXMLLoader(getClass().getResource("/gui/MainView.fxml"));
 			ScrollPane scrollPane = loader.load();
+			startupTimer.mark("fxml_loaded");
 			scrollPane.setFitToHeight(true);
 			scrollPane.setFitToWidth(true);
 			mainScene = new Scene(scrollPane);
 			primaryStage.setScene(mainScene);
 			primaryStage.setTitle("Sample JavaFX application");
 			primaryStage.show();
+			startupTimer.mark("stage_shown");
+			warmUp.whenCompleteAsync((v, e) -> onWarmUpFinished(e), Platform::runLater);
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
 	}
 	
+	private void warmUp() {
+		Properties props = DB.getProperties();
+		startupTimer.mark("properties_loaded");
+		metricsExporter = PrometheusExporter.start(MetricsRegistry.getDefault(), props);
+		// loads the driver and opens the pool's minimum connections
+		DB.getConnectionPool().prime();
+		startupTimer.mark("pool_primed");
+		migrateSchema(props);
+		try (Connection conn = DB.getConnection(); Statement st = conn.createStatement();
+				ResultSet rs = st.executeQuery("SELECT 1")) {
+			rs.next();
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		startupTimer.mark("first_query_ready");
+	}
+	
+	private void migrateSchema(Properties props) {
+		if (!Boolean.parseBoolean(props.getProperty("migrations.enabled", "true"))) {
+			return;
+		}
+		try {
+			new MigrationRunner(DB.getConnectionPool()).migrate();
+			startupTimer.mark("migrations_applied");
+		} catch (DbException e) {
+			Platform.runLater(() -> Alerts.showAlert("Database migration failed", null, e.getMessage(),
+					AlertType.ERROR));
+		}
+	}
+	
+	private void onWarmUpFinished(Throwable e) {
+		if (e != null) {
+			// not fatal here: the first view that queries the database reports the error to the user
+			LOGGER.log(Level.WARNING, "Database warm-up failed", Utils.unwrap(e));
+		}
+		if (Boolean.parseBoolean(DB.getProperties().getProperty("views.preload", "true"))) {
+			ViewCache.getDefault().preload(PRELOADED_VIEWS);
+		}
+	}
+	
+	@Override
+	public void stop() {
+		if (metricsExporter != null) {
+			metricsExporter.stop();
+		}
+	}
+	
 	public static Scene getMainScene() {
 		return mainScene;
 	}
+	
+	// completes once the database is ready, exceptionally if it could not be reached
+	public static CompletableFuture<Void> getWarmUp() {
+		return warmUp;
+	}
 
 	public static void main(String[] args) {
 		launch(args);
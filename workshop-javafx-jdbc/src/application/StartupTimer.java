@@ -0,0 +1,33 @@
+package application;
+
+import java.time.Instant;
+import java.util.logging.Logger;
+
+import metrics.MetricsRegistry;
+
+// Records how long after JVM start each startup phase completed, in the log and as a gauge per phase.
+class StartupTimer {
+
+	private static final Logger LOGGER = Logger.getLogger(StartupTimer.class.getName());
+
+	private final MetricsRegistry registry;
+	private final long startMillis;
+	private long lastMillis;
+
+	StartupTimer(MetricsRegistry registry) {
+		this.registry = registry;
+		startMillis = ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli)
+				.orElse(System.currentTimeMillis());
+		lastMillis = startMillis;
+	}
+
+	synchronized void mark(String phase) {
+		long now = System.currentTimeMillis();
+		double seconds = (now - startMillis) / 1000.0;
+		registry.gauge("app_startup_phase_seconds", "Seconds from JVM start until the startup phase completed",
+				"phase=\"" + phase + "\"", () -> seconds);
+		LOGGER.info("Startup phase " + phase + " reached after " + (now - startMillis) + " ms (+"
+				+ (now - lastMillis) + " ms)");
+		lastMillis = now;
+	}
+}
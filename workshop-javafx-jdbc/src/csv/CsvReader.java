@@ -0,0 +1,114 @@
+package csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Reader in;
+	private final char delimiter;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private final StringBuilder field = new StringBuilder();
+	private int position;
+	private int limit;
+	private int lineNumber;
+	private int recordLineNumber;
+
+	public CsvReader(Reader in) {
+		this(in, ',');
+	}
+
+	public CsvReader(Reader in, char delimiter) {
+		this.in = in;
+		this.delimiter = delimiter;
+	}
+
+	public String[] readRecord() throws IOException {
+		if (!fill()) {
+			return null;
+		}
+		recordLineNumber = ++lineNumber;
+		List<String> fields = new ArrayList<>();
+		field.setLength(0);
+		boolean quoted = false;
+		boolean quotedField = false;
+		while (true) {
+			if (position == limit && !fill()) {
+				if (quoted) {
+					throw new IOException("Unterminated quoted field starting at line " + recordLineNumber);
+				}
+				fields.add(take(quotedField));
+				return fields.toArray(new String[0]);
+			}
+			char c = buffer[position++];
+			if (quoted) {
+				if (c == '"') {
+					if (position == limit && !fill()) {
+						quoted = false;
+					} else if (buffer[position] == '"') {
+						field.append('"');
+						position++;
+					} else {
+						quoted = false;
+					}
+				} else {
+					if (c == '\n') {
+						lineNumber++;
+					}
+					field.append(c);
+				}
+			} else if (c == delimiter) {
+				fields.add(take(quotedField));
+				quotedField = false;
+			} else if (c == '\n' || c == '\r') {
+				if (c == '\r' && (position < limit || fill()) && buffer[position] == '\n') {
+					position++;
+				}
+				fields.add(take(quotedField));
+				return fields.toArray(new String[0]);
+			} else if (c == '"' && field.length() == 0 && !quotedField) {
+				quoted = true;
+				quotedField = true;
+			} else {
+				field.append(c);
+			}
+		}
+	}
+
+	public int getLineNumber() {
+		return recordLineNumber;
+	}
+
+	private String take(boolean quotedField) {
+		String value = field.toString();
+		field.setLength(0);
+		return quotedField ? value : value.trim();
+	}
+
+	private boolean fill() throws IOException {
+		if (position < limit) {
+			return true;
+		}
+		int read;
+		do {
+			read = in.read(buffer, 0, buffer.length);
+		} while (read == 0);
+		if (read < 0) {
+			position = limit = 0;
+			return false;
+		}
+		position = 0;
+		limit = read;
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,76 @@
+package csv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+public class CsvWriter implements Closeable, Flushable {
+
+	private final Writer out;
+	private final char delimiter;
+
+	public CsvWriter(Writer out) {
+		this(out, ',');
+	}
+
+	public CsvWriter(Writer out, char delimiter) {
+		this.out = out;
+		this.delimiter = delimiter;
+	}
+
+	public void writeRecord(String... fields) throws IOException {
+		for (int i = 0; i < fields.length; i++) {
+			if (i > 0) {
+				out.write(delimiter);
+			}
+			writeField(fields[i]);
+		}
+		out.write("\r\n");
+	}
+
+	private void writeField(String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		if (!needsQuotes(value)) {
+			out.write(value);
+			return;
+		}
+		out.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				out.write('"');
+			}
+			out.write(c);
+		}
+		out.write('"');
+	}
+
+	private boolean needsQuotes(String value) {
+		if (value.isEmpty()) {
+			return false;
+		}
+		if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1))) {
+			return true;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,279 @@
+package db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ConnectionPool implements ConnectionProvider {
+
+	private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+	private static final String PREFIX = "pool.";
+
+	private static final String DRIVER_PREFIX = "jdbc.";
+
+	private static final String[] CREDENTIALS = { "user", "password" };
+
+	private final String url;
+	private final Properties connectionProps = new Properties();
+
+	private final int minSize;
+	private final int maxSize;
+	private final long borrowTimeoutMillis;
+	private final long idleTimeoutMillis;
+	private final long validationIntervalMillis;
+	private final int validationTimeoutSeconds;
+	private final long leakDetectionMillis;
+	private final int statementCacheSize;
+
+	private final Semaphore permits;
+	private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+	private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger total = new AtomicInteger();
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final ScheduledExecutorService housekeeper;
+	private volatile boolean closed;
+
+	private final LongAdder borrowCount = new LongAdder();
+	private final LongAdder timeoutCount = new LongAdder();
+	private final LongAdder createdCount = new LongAdder();
+	private final LongAdder evictedCount = new LongAdder();
+	private final LongAdder leakCount = new LongAdder();
+	private final LongAdder statementCacheHits = new LongAdder();
+	private final LongAdder statementCacheMisses = new LongAdder();
+	private final LongAdder totalWaitNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	public ConnectionPool(String url, Properties props) {
+		this.url = url;
+		// only credentials and jdbc.* settings reach the driver, the rest of db.properties is for the application
+		for (String name : CREDENTIALS) {
+			if (props.getProperty(name) != null) {
+				connectionProps.setProperty(name, props.getProperty(name));
+			}
+		}
+		for (String name : props.stringPropertyNames()) {
+			if (name.startsWith(DRIVER_PREFIX)) {
+				connectionProps.setProperty(name.substring(DRIVER_PREFIX.length()), props.getProperty(name));
+			}
+		}
+		minSize = intProperty(props, "minSize", 1);
+		maxSize = intProperty(props, "maxSize", 10);
+		borrowTimeoutMillis = intProperty(props, "borrowTimeout", 30000);
+		idleTimeoutMillis = intProperty(props, "idleTimeout", 600000);
+		validationIntervalMillis = intProperty(props, "validationInterval", 500);
+		validationTimeoutSeconds = intProperty(props, "validationTimeout", 5);
+		leakDetectionMillis = intProperty(props, "leakDetectionThreshold", 0);
+		statementCacheSize = intProperty(props, "statementCacheSize", 50);
+		long housekeepingMillis = intProperty(props, "housekeepingInterval", 30000);
+
+		if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+			throw new DbException("Invalid pool size: minSize=" + minSize + ", maxSize=" + maxSize);
+		}
+		permits = new Semaphore(maxSize, true);
+
+		housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "connection-pool-housekeeper");
+			t.setDaemon(true);
+			return t;
+		});
+		housekeeper.scheduleWithFixedDelay(this::housekeep, housekeepingMillis, housekeepingMillis,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private static int intProperty(Properties props, String key, int defaultValue) {
+		String value = props.getProperty(PREFIX + key);
+		if (value == null || value.trim().isEmpty()) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		}
+		catch (NumberFormatException e) {
+			throw new DbException("Invalid value for " + PREFIX + key + ": " + value);
+		}
+	}
+
+	@Override
+	public Connection getConnection() {
+		if (closed) {
+			throw new DbException("Connection pool is closed");
+		}
+		long start = System.nanoTime();
+		boolean acquired;
+		waiting.incrementAndGet();
+		try {
+			acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DbException("Interrupted while waiting for a connection");
+		}
+		finally {
+			waiting.decrementAndGet();
+		}
+		if (!acquired) {
+			timeoutCount.increment();
+			throw new DbException(
+					"Timed out after " + borrowTimeoutMillis + " ms waiting for a connection: " + getStatistics());
+		}
+		recordWait(System.nanoTime() - start);
+
+		try {
+			PooledConnection pooled = takeIdle();
+			if (pooled == null) {
+				pooled = create();
+			}
+			borrowed.add(pooled);
+			borrowCount.increment();
+			Throwable trace = leakDetectionMillis > 0 ? new Throwable("Connection borrowed here") : null;
+			return pooled.borrow(trace);
+		}
+		catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private void recordWait(long nanos) {
+		totalWaitNanos.add(nanos);
+		long max = maxWaitNanos.get();
+		while (nanos > max && !maxWaitNanos.compareAndSet(max, nanos)) {
+			max = maxWaitNanos.get();
+		}
+	}
+
+	private PooledConnection takeIdle() {
+		PooledConnection pooled;
+		while ((pooled = idle.pollFirst()) != null) {
+			long idleMillis = System.currentTimeMillis() - pooled.getReturnedAt();
+			if (idleMillis < validationIntervalMillis || pooled.isValid(validationTimeoutSeconds)) {
+				return pooled;
+			}
+			evict(pooled);
+		}
+		return null;
+	}
+
+	private PooledConnection create() {
+		total.incrementAndGet();
+		return open();
+	}
+
+	private PooledConnection open() {
+		try {
+			Connection physical = DriverManager.getConnection(url, connectionProps);
+			createdCount.increment();
+			return new PooledConnection(this, physical, statementCacheSize);
+		}
+		catch (SQLException e) {
+			total.decrementAndGet();
+			throw new DbException(e.getMessage());
+		}
+	}
+
+	void release(PooledConnection pooled) {
+		borrowed.remove(pooled);
+		try {
+			if (closed) {
+				evict(pooled);
+				return;
+			}
+			pooled.reset();
+			idle.offerFirst(pooled);
+		}
+		catch (SQLException e) {
+			evict(pooled);
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	private void evict(PooledConnection pooled) {
+		pooled.closePhysical();
+		total.decrementAndGet();
+		evictedCount.increment();
+	}
+
+	public void prime() {
+		int current;
+		while (!closed && (current = total.get()) < minSize) {
+			if (total.compareAndSet(current, current + 1)) {
+				idle.offerLast(open());
+			}
+		}
+	}
+
+	private void housekeep() {
+		try {
+			long now = System.currentTimeMillis();
+
+			Iterator<PooledConnection> it = idle.descendingIterator();
+			while (it.hasNext() && total.get() > minSize) {
+				PooledConnection pooled = it.next();
+				if (now - pooled.getReturnedAt() > idleTimeoutMillis && idle.removeLastOccurrence(pooled)) {
+					evict(pooled);
+				}
+			}
+
+			if (leakDetectionMillis > 0) {
+				for (PooledConnection pooled : borrowed) {
+					if (pooled.isBorrowed() && now - pooled.getBorrowedAt() > leakDetectionMillis
+							&& pooled.markLeakReported()) {
+						leakCount.increment();
+						LOGGER.log(Level.WARNING, "Connection held for more than " + leakDetectionMillis
+								+ " ms, possible leak", pooled.getBorrowTrace());
+					}
+				}
+			}
+
+			prime();
+		}
+		catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+		}
+	}
+
+	void recordStatementCacheHit() {
+		statementCacheHits.increment();
+	}
+
+	void recordStatementCacheMiss() {
+		statementCacheMisses.increment();
+	}
+
+	public PoolStatistics getStatistics() {
+		return new PoolStatistics(borrowed.size(), idle.size(), waiting.get(), borrowCount.sum(),
+				timeoutCount.sum(), createdCount.sum(), evictedCount.sum(), leakCount.sum(), totalWaitNanos.sum(),
+				maxWaitNanos.get(), statementCacheHits.sum(), statementCacheMisses.sum());
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		housekeeper.shutdownNow();
+		PooledConnection pooled;
+		while ((pooled = idle.pollFirst()) != null) {
+			evict(pooled);
+		}
+	}
+}
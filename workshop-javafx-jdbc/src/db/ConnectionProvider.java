@@ -0,0 +1,9 @@
+package db;
+
+import java.sql.Connection;
+
+public interface ConnectionProvider {
+
+	Connection getConnection();
+	void close();
+}
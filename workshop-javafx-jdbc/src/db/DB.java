@@ -3,31 +3,61 @@ package db;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Properties;
 
+import metrics.MetricsRegistry;
+
 public class DB {
 
-	private static Connection conn = null;
+	private static ConnectionPool pool = null;
+	
+	private static Properties props = null;
+	
+	public static synchronized Properties getProperties() {
+		if (props == null) {
+			props = loadProperties();
+		}
+		return props;
+	}
+	
+	public static synchronized ConnectionPool getConnectionPool() {
+		if (pool == null) {
+			String url = getProperties().getProperty("dburl");
+			pool = new ConnectionPool(url, getProperties());
+			registerPoolMetrics(pool);
+		}
+		return pool;
+	}
+	
+	private static void registerPoolMetrics(ConnectionPool pool) {
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		registry.gauge("db_pool_active_connections", "Connections currently borrowed", "",
+				() -> pool.getStatistics().getActive());
+		registry.gauge("db_pool_idle_connections", "Connections waiting in the pool", "",
+				() -> pool.getStatistics().getIdle());
+		registry.gauge("db_pool_waiting_threads", "Threads waiting for a connection", "",
+				() -> pool.getStatistics().getWaiting());
+		registry.gauge("db_pool_borrow_timeouts", "Borrow attempts that timed out", "",
+				() -> pool.getStatistics().getTimeoutCount());
+		registry.gauge("db_pool_max_wait_seconds", "Longest time spent waiting for a connection", "",
+				() -> pool.getStatistics().getMaxWaitNanos() / 1e9);
+	}
 	
 	public static Connection getConnection() {
-		if (conn == null) {
-			try {
-				Properties props = loadProperties();
-				String url = props.getProperty("dburl");
-				conn = DriverManager.getConnection(url, props);
-			}
-			catch (SQLException e) {
-				throw new DbException(e.getMessage());
-			}
+		return getConnectionPool().getConnection();
+	}
+	
+	public static synchronized void closeConnection() {
+		if (pool != null) {
+			pool.close();
+			pool = null;
 		}
-		return conn;
 	}
 	
-	public static void closeConnection() {
+	public static void closeConnection(Connection conn) {
 		if (conn != null) {
 			try {
 				conn.close();
@@ -0,0 +1,22 @@
+package db;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class DbBatchException extends DbException {
+	private static final long serialVersionUID = 1L;
+
+	private Map<Integer, String> errors = new TreeMap<>();
+
+	public DbBatchException(String msg) {
+		super(msg);
+	}
+
+	public Map<Integer, String> getErrors() {
+		return errors;
+	}
+
+	public void addError(int chunk, String errorMessage) {
+		errors.put(chunk, errorMessage);
+	}
+}
@@ -0,0 +1,96 @@
+package db;
+
+public class PoolStatistics {
+
+	private final int active;
+	private final int idle;
+	private final int waiting;
+	private final long borrowCount;
+	private final long timeoutCount;
+	private final long createdCount;
+	private final long evictedCount;
+	private final long leakCount;
+	private final long totalWaitNanos;
+	private final long maxWaitNanos;
+	private final long statementCacheHits;
+	private final long statementCacheMisses;
+
+	public PoolStatistics(int active, int idle, int waiting, long borrowCount, long timeoutCount, long createdCount,
+			long evictedCount, long leakCount, long totalWaitNanos, long maxWaitNanos, long statementCacheHits,
+			long statementCacheMisses) {
+		this.active = active;
+		this.idle = idle;
+		this.waiting = waiting;
+		this.borrowCount = borrowCount;
+		this.timeoutCount = timeoutCount;
+		this.createdCount = createdCount;
+		this.evictedCount = evictedCount;
+		this.leakCount = leakCount;
+		this.totalWaitNanos = totalWaitNanos;
+		this.maxWaitNanos = maxWaitNanos;
+		this.statementCacheHits = statementCacheHits;
+		this.statementCacheMisses = statementCacheMisses;
+	}
+
+	public int getActive() {
+		return active;
+	}
+
+	public int getIdle() {
+		return idle;
+	}
+
+	public int getWaiting() {
+		return waiting;
+	}
+
+	public long getBorrowCount() {
+		return borrowCount;
+	}
+
+	public long getTimeoutCount() {
+		return timeoutCount;
+	}
+
+	public long getCreatedCount() {
+		return createdCount;
+	}
+
+	public long getEvictedCount() {
+		return evictedCount;
+	}
+
+	public long getLeakCount() {
+		return leakCount;
+	}
+
+	public long getTotalWaitNanos() {
+		return totalWaitNanos;
+	}
+
+	public long getMaxWaitNanos() {
+		return maxWaitNanos;
+	}
+
+	public long getStatementCacheHits() {
+		return statementCacheHits;
+	}
+
+	public long getStatementCacheMisses() {
+		return statementCacheMisses;
+	}
+
+	public double getAverageWaitMillis() {
+		return borrowCount == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / borrowCount;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolStatistics [active=" + active + ", idle=" + idle + ", waiting=" + waiting + ", borrowCount="
+				+ borrowCount + ", timeoutCount=" + timeoutCount + ", createdCount=" + createdCount
+				+ ", evictedCount=" + evictedCount + ", leakCount=" + leakCount + ", averageWaitMillis="
+				+ String.format("%.3f", getAverageWaitMillis()) + ", maxWaitMillis="
+				+ String.format("%.3f", maxWaitNanos / 1_000_000.0) + ", statementCacheHits=" + statementCacheHits
+				+ ", statementCacheMisses=" + statementCacheMisses + "]";
+	}
+}
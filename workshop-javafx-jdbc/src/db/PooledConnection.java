@@ -0,0 +1,156 @@
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class PooledConnection {
+
+	private final ConnectionPool pool;
+	private final Connection physical;
+	private final StatementCache statementCache;
+
+	private volatile int lease;
+	private volatile boolean borrowed;
+	private volatile long borrowedAt;
+	private volatile long returnedAt;
+	private volatile Throwable borrowTrace;
+	private volatile boolean leakReported;
+
+	PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) {
+		this.pool = pool;
+		this.physical = physical;
+		this.statementCache = new StatementCache(statementCacheSize);
+		this.returnedAt = System.currentTimeMillis();
+	}
+
+	synchronized Connection borrow(Throwable trace) {
+		borrowed = true;
+		borrowedAt = System.currentTimeMillis();
+		borrowTrace = trace;
+		leakReported = false;
+		int currentLease = ++lease;
+		return (Connection) Proxy.newProxyInstance(PooledConnection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new Handle(currentLease));
+	}
+
+	synchronized boolean giveBack(int returningLease) {
+		if (!borrowed || returningLease != lease) {
+			return false;
+		}
+		borrowed = false;
+		borrowTrace = null;
+		returnedAt = System.currentTimeMillis();
+		return true;
+	}
+
+	void reset() throws SQLException {
+		if (!physical.getAutoCommit()) {
+			physical.rollback();
+			physical.setAutoCommit(true);
+		}
+		physical.clearWarnings();
+	}
+
+	boolean isValid(int timeoutSeconds) {
+		try {
+			return !physical.isClosed() && physical.isValid(timeoutSeconds);
+		}
+		catch (SQLException e) {
+			return false;
+		}
+	}
+
+	void closePhysical() {
+		statementCache.close();
+		try {
+			physical.close();
+		}
+		catch (SQLException e) {
+			// the connection is being discarded anyway
+		}
+	}
+
+	boolean isBorrowed() {
+		return borrowed;
+	}
+
+	long getBorrowedAt() {
+		return borrowedAt;
+	}
+
+	long getReturnedAt() {
+		return returnedAt;
+	}
+
+	Throwable getBorrowTrace() {
+		return borrowTrace;
+	}
+
+	boolean markLeakReported() {
+		if (leakReported) {
+			return false;
+		}
+		leakReported = true;
+		return true;
+	}
+
+	private static boolean isCacheablePrepare(Method method) {
+		if (!method.getName().equals("prepareStatement")) {
+			return false;
+		}
+		Class<?>[] types = method.getParameterTypes();
+		return types.length == 1 || (types.length == 2 && types[1] == int.class);
+	}
+
+	private class Handle implements InvocationHandler {
+
+		private final int handleLease;
+
+		Handle(int handleLease) {
+			this.handleLease = handleLease;
+		}
+
+		private boolean isCurrent() {
+			return borrowed && lease == handleLease;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (giveBack(handleLease)) {
+					pool.release(PooledConnection.this);
+				}
+				return null;
+			case "isClosed":
+				return !isCurrent() || physical.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "PooledConnection[" + physical + "]";
+			default:
+				break;
+			}
+			if (!isCurrent()) {
+				throw new SQLException("Connection has already been returned to the pool");
+			}
+			if (isCacheablePrepare(method)) {
+				int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+				return statementCache.prepare(physical, (String) args[0], autoGeneratedKeys, pool);
+			}
+			try {
+				return method.invoke(physical, args);
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
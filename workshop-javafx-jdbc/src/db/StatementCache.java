@@ -0,0 +1,172 @@
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class StatementCache {
+
+	private final int maxSize;
+	private final Map<Key, CachedStatement> statements;
+	private boolean closed;
+
+	StatementCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.statements = new LinkedHashMap<Key, CachedStatement>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+				if (size() > StatementCache.this.maxSize) {
+					eldest.getValue().evict();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	synchronized PreparedStatement prepare(Connection physical, String sql, int autoGeneratedKeys,
+			ConnectionPool pool) throws SQLException {
+		if (closed || maxSize <= 0) {
+			return physical.prepareStatement(sql, autoGeneratedKeys);
+		}
+		Key key = new Key(sql, autoGeneratedKeys);
+		CachedStatement cached = statements.get(key);
+		if (cached != null) {
+			if (cached.inUse) {
+				return physical.prepareStatement(sql, autoGeneratedKeys);
+			}
+			pool.recordStatementCacheHit();
+			cached.inUse = true;
+			return cached.proxy;
+		}
+		pool.recordStatementCacheMiss();
+		cached = new CachedStatement(physical.prepareStatement(sql, autoGeneratedKeys));
+		cached.inUse = true;
+		statements.put(key, cached);
+		return cached.proxy;
+	}
+
+	void close() {
+		List<CachedStatement> toClose;
+		synchronized (this) {
+			closed = true;
+			toClose = new ArrayList<>(statements.values());
+			statements.clear();
+		}
+		for (CachedStatement cached : toClose) {
+			cached.closeQuietly();
+		}
+	}
+
+	private synchronized void giveBack(CachedStatement cached) {
+		cached.inUse = false;
+		if (closed || cached.evicted) {
+			cached.closeQuietly();
+			return;
+		}
+		try {
+			cached.statement.clearParameters();
+			cached.statement.clearBatch();
+		}
+		catch (SQLException e) {
+			statements.values().remove(cached);
+			cached.closeQuietly();
+		}
+	}
+
+	private static final class Key {
+
+		private final String sql;
+		private final int autoGeneratedKeys;
+
+		Key(String sql, int autoGeneratedKeys) {
+			this.sql = sql;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * sql.hashCode() + autoGeneratedKeys;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+		}
+	}
+
+	private final class CachedStatement implements InvocationHandler {
+
+		private final PreparedStatement statement;
+		private final PreparedStatement proxy;
+		private boolean inUse;
+		private boolean evicted;
+
+		CachedStatement(PreparedStatement statement) {
+			this.statement = statement;
+			this.proxy = (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, this);
+		}
+
+		void evict() {
+			evicted = true;
+			if (!inUse) {
+				closeQuietly();
+			}
+		}
+
+		void closeQuietly() {
+			try {
+				statement.close();
+			}
+			catch (SQLException e) {
+				// the statement is being discarded anyway
+			}
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (inUse) {
+					giveBack(this);
+				}
+				return null;
+			case "isClosed":
+				return !inUse || statement.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "CachedStatement[" + statement + "]";
+			default:
+				break;
+			}
+			if (!inUse) {
+				throw new SQLException("Statement has already been closed");
+			}
+			try {
+				return method.invoke(statement, args);
+			}
+			catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package db.migration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import db.DbException;
+
+public class Migration {
+
+	private final int version;
+	private final String description;
+	private final String script;
+	private final String content;
+
+	private Migration(int version, String description, String script, String content) {
+		this.version = version;
+		this.description = description;
+		this.script = script;
+		this.content = content;
+	}
+
+	static Migration load(String script) {
+		int separator = script.indexOf("__");
+		if (!script.startsWith("V") || separator < 0 || !script.endsWith(".sql")) {
+			throw new DbException("Invalid migration name: " + script);
+		}
+		int version = Integer.parseInt(script.substring(1, separator));
+		String description = script.substring(separator + 2, script.length() - 4).replace('_', ' ');
+		try (InputStream in = Migration.class.getResourceAsStream(script)) {
+			if (in == null) {
+				throw new DbException("Migration script not found: " + script);
+			}
+			return new Migration(version, description, script, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			throw new DbException(e.getMessage());
+		}
+	}
+
+	public int getVersion() {
+		return version;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public String getScript() {
+		return script;
+	}
+
+	public int getChecksum() {
+		CRC32 crc = new CRC32();
+		crc.update(content.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+		return (int) crc.getValue();
+	}
+
+	List<String> getStatements() {
+		List<String> statements = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		for (String line : content.split("\r?\n")) {
+			String trimmed = line.trim();
+			if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+				continue;
+			}
+			current.append(line).append('\n');
+			if (trimmed.endsWith(";")) {
+				String sql = current.toString().trim();
+				statements.add(sql.substring(0, sql.length() - 1));
+				current.setLength(0);
+			}
+		}
+		if (current.toString().trim().length() > 0) {
+			statements.add(current.toString().trim());
+		}
+		return statements;
+	}
+
+	@Override
+	public String toString() {
+		return "V" + version + " " + description;
+	}
+}
@@ -0,0 +1,144 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import db.ConnectionProvider;
+import db.DB;
+import db.DbException;
+
+public class MigrationRunner {
+
+	private static final Logger LOGGER = Logger.getLogger(MigrationRunner.class.getName());
+
+	private static final String[] SCRIPTS = {
+			"V1__create_tables.sql",
+			"V2__seller_lookup_indexes.sql",
+			"V3__seller_range_indexes.sql",
+			"V4__department_name_index.sql",
+			"V5__seller_payroll_index.sql",
+			"V6__seller_sort_indexes.sql"
+	};
+
+	private static final String HISTORY_TABLE_SQL =
+			"CREATE TABLE IF NOT EXISTS schema_history ("
+			+ "Version int NOT NULL, "
+			+ "Description varchar(200) NOT NULL, "
+			+ "Script varchar(200) NOT NULL, "
+			+ "Checksum int NOT NULL, "
+			+ "InstalledOn datetime NOT NULL, "
+			+ "ExecutionTime int NOT NULL, "
+			+ "PRIMARY KEY (Version))";
+
+	private ConnectionProvider provider;
+
+	public MigrationRunner(ConnectionProvider provider) {
+		this.provider = provider;
+	}
+
+	public static List<Migration> getMigrations() {
+		List<Migration> migrations = new ArrayList<>();
+		for (String script : SCRIPTS) {
+			migrations.add(Migration.load(script));
+		}
+		return migrations;
+	}
+
+	public int migrate() {
+		Connection conn = null;
+		try {
+			conn = provider.getConnection();
+			createHistoryTable(conn);
+			Map<Integer, Integer> applied = findApplied(conn);
+
+			int count = 0;
+			for (Migration migration : getMigrations()) {
+				Integer checksum = applied.get(migration.getVersion());
+				if (checksum == null) {
+					apply(conn, migration);
+					count++;
+				}
+				else if (checksum != migration.getChecksum()) {
+					throw new DbException("Migration " + migration + " has changed since it was applied");
+				}
+			}
+			return count;
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeConnection(conn);
+		}
+	}
+
+	private void createHistoryTable(Connection conn) throws SQLException {
+		Statement st = null;
+		try {
+			st = conn.createStatement();
+			st.execute(HISTORY_TABLE_SQL);
+		}
+		finally {
+			DB.closeStatement(st);
+		}
+	}
+
+	private Map<Integer, Integer> findApplied(Connection conn) throws SQLException {
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		try {
+			st = conn.prepareStatement("SELECT Version, Checksum FROM schema_history");
+			rs = st.executeQuery();
+			Map<Integer, Integer> applied = new HashMap<>();
+			while (rs.next()) {
+				applied.put(rs.getInt("Version"), rs.getInt("Checksum"));
+			}
+			return applied;
+		}
+		finally {
+			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+		}
+	}
+
+	private void apply(Connection conn, Migration migration) throws SQLException {
+		long start = System.currentTimeMillis();
+		Statement st = null;
+		PreparedStatement history = null;
+		try {
+			st = conn.createStatement();
+			for (String sql : migration.getStatements()) {
+				st.execute(sql);
+			}
+			history = conn.prepareStatement(
+					"INSERT INTO schema_history "
+					+ "(Version, Description, Script, Checksum, InstalledOn, ExecutionTime) "
+					+ "VALUES (?, ?, ?, ?, ?, ?)");
+			long elapsed = System.currentTimeMillis() - start;
+			history.setInt(1, migration.getVersion());
+			history.setString(2, migration.getDescription());
+			history.setString(3, migration.getScript());
+			history.setInt(4, migration.getChecksum());
+			history.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+			history.setInt(6, (int) elapsed);
+			history.executeUpdate();
+			LOGGER.info("Applied migration " + migration + " in " + elapsed + " ms");
+		}
+		catch (SQLException e) {
+			throw new DbException("Migration " + migration + " failed: " + e.getMessage());
+		}
+		finally {
+			DB.closeStatement(history);
+			DB.closeStatement(st);
+		}
+	}
+}
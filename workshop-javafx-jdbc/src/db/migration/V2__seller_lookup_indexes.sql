@@ -0,0 +1,8 @@
+-- ORDER BY Name, Id in findAll, paging and criteria search; Name prefix filters
+CREATE INDEX idx_seller_name ON seller (Name, Id);
+
+-- findByDepartment / findPageByDepartment: filter by department, already in Name order
+CREATE INDEX idx_seller_department_name ON seller (DepartmentId, Name, Id);
+
+-- criteria search by Email prefix
+CREATE INDEX idx_seller_email ON seller (Email);
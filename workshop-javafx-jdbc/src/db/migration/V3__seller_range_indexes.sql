@@ -0,0 +1,3 @@
+-- criteria search by salary and birth date ranges
+CREATE INDEX idx_seller_base_salary ON seller (BaseSalary);
+CREATE INDEX idx_seller_birth_date ON seller (BirthDate);
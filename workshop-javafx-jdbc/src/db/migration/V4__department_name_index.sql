@@ -0,0 +1,2 @@
+-- DepartmentDaoJDBC.findAll orders by Name
+CREATE INDEX idx_department_name ON department (Name);
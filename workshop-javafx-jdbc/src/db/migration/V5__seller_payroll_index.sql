@@ -0,0 +1,2 @@
+-- ReportDaoJDBC payroll aggregation can be answered from the index alone
+CREATE INDEX idx_seller_department_salary ON seller (DepartmentId, BaseSalary);
@@ -0,0 +1,9 @@
+-- SellerDaoJDBC.findRange orders by the sorted column and then Id; replace the
+-- single-column range indexes so every sortable column is read in index order
+DROP INDEX idx_seller_email ON seller;
+DROP INDEX idx_seller_base_salary ON seller;
+DROP INDEX idx_seller_birth_date ON seller;
+
+CREATE INDEX idx_seller_email ON seller (Email, Id);
+CREATE INDEX idx_seller_base_salary ON seller (BaseSalary, Id);
+CREATE INDEX idx_seller_birth_date ON seller (BirthDate, Id);
@@ -0,0 +1,170 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import application.Main;
+import gui.util.Alerts;
+import gui.util.ListPatcher;
+import gui.util.Utils;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import model.events.ChangeOperation;
+import model.events.EntityChangeEvent;
+
+// Table wiring shared by the list views: edit and remove buttons, removal of the selection and patching of the
+// items from change events. Subclasses bind their own columns and decide how the rows are loaded.
+public abstract class CrudListController<T, ID> implements Initializable {
+
+	private final Class<T> entityType;
+
+	private final Function<T, ID> idOf;
+
+	private TableView<T> tableView;
+
+	private final BooleanProperty removing = new SimpleBooleanProperty();
+
+	private final ProgressIndicator loadingPlaceholder = new ProgressIndicator();
+
+	private final Label emptyPlaceholder = new Label("No content in table");
+
+	protected CrudListController(Class<T> entityType, Function<T, ID> idOf) {
+		this.entityType = entityType;
+		this.idOf = idOf;
+	}
+
+	protected abstract T newEntity();
+
+	protected abstract void editEntity(T entity, Stage parentStage);
+
+	protected abstract CompletableFuture<Void> removeAsync(T entity);
+
+	protected abstract CompletableFuture<Void> removeAllAsync(Collection<T> entities);
+
+	protected abstract void onChanges(List<EntityChangeEvent<T>> events);
+
+	@FXML
+	public void onBtNewAction(ActionEvent e) {
+		editEntity(newEntity(), Utils.currentStage(e));
+	}
+
+	@FXML
+	public void onBtRemoveSelectedAction(ActionEvent event) {
+		List<T> selected = new ArrayList<>(tableView.getSelectionModel().getSelectedItems());
+		// rows of a paged list that are still loading are selected as nulls
+		selected.removeIf(entity -> entity == null);
+		if (selected.isEmpty()) {
+			return;
+		}
+		Optional<ButtonType> result = Alerts.showConfirmation("Confirmation",
+				"Are you sure you want to delete " + selected.size() + " selected item(s)?");
+		if (result.get() != ButtonType.OK) {
+			return;
+		}
+		removing.set(true);
+		removeAllAsync(selected).whenCompleteAsync((v, e) -> {
+			removing.set(false);
+			if (e != null) {
+				Alerts.showAlert("Error removing objects", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+				return;
+			}
+			tableView.getSelectionModel().clearSelection();
+		}, Platform::runLater);
+	}
+
+	protected void initializeTable(TableView<T> tableView, TableColumn<T, T> editColumn, TableColumn<T, T> removeColumn,
+			Button btRemoveSelected) {
+		this.tableView = tableView;
+
+		Stage stage = (Stage) Main.getMainScene().getWindow();
+		tableView.prefHeightProperty().bind(stage.heightProperty());
+
+		initActionColumn(editColumn, "edit", this::editEntity);
+		initActionColumn(removeColumn, "remove", (entity, parentStage) -> removeEntity(entity));
+
+		tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+		btRemoveSelected.disableProperty()
+				.bind(Bindings.isEmpty(tableView.getSelectionModel().getSelectedItems()).or(removing));
+
+		Utils.subscribeWhileShowing(tableView, entityType, this::onChanges);
+	}
+
+	protected void setLoading(boolean loading) {
+		tableView.setPlaceholder(loading ? loadingPlaceholder : emptyPlaceholder);
+	}
+
+	// applies the events to a fully loaded list in place; false means a bulk change that needs a reload
+	protected boolean patchItems(List<T> items, List<EntityChangeEvent<T>> events, Comparator<? super T> order) {
+		for (EntityChangeEvent<T> event : events) {
+			if (event.isBulk()) {
+				return false;
+			}
+		}
+		for (EntityChangeEvent<T> event : events) {
+			if (event.getOperation() == ChangeOperation.DELETE) {
+				ListPatcher.remove(items, event.getId(), idOf);
+			} else {
+				ListPatcher.apply(items, event.getSnapshot(), event.getOperation(), order, idOf);
+			}
+		}
+		return true;
+	}
+
+	// the button and its handler are created once per cell; scrolling only swaps the row they act on
+	private void initActionColumn(TableColumn<T, T> column, String text, BiConsumer<T, Stage> action) {
+		column.setSortable(false);
+		column.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
+		column.setCellFactory(param -> new TableCell<T, T>() {
+			private final Button button = new Button(text);
+
+			{
+				button.setOnAction(event -> {
+					T entity = getItem();
+					if (entity != null) {
+						action.accept(entity, Utils.currentStage(event));
+					}
+				});
+			}
+
+			@Override
+			protected void updateItem(T entity, boolean empty) {
+				super.updateItem(entity, empty);
+				setGraphic(empty || entity == null ? null : button);
+			}
+		});
+	}
+
+	private void removeEntity(T entity) {
+		Optional<ButtonType> result = Alerts.showConfirmation("Confirmation", "Are you sure you want to delete this?");
+		if (result.get() != ButtonType.OK) {
+			return;
+		}
+		removeAsync(entity).whenCompleteAsync((v, e) -> {
+			if (e != null) {
+				Alerts.showAlert("Error removing object", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+			}
+		}, Platform::runLater);
+	}
+}
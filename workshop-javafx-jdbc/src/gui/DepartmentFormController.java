@@ -1,17 +1,14 @@
 package gui;
 
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 
-import db.DbException;
-import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
 import gui.util.Constraints;
 import gui.util.Utils;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
@@ -19,6 +16,7 @@ import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
+import javafx.stage.Stage;
 import model.entities.Department;
 import model.exceptions.ValidationException;
 import model.services.DepartmentService;
@@ -29,8 +27,6 @@ public class DepartmentFormController implements Initializable {
 
 	private Department entity;
 
-	private List<DataChangeListener> dataChangeListeners = new ArrayList<>();
-
 	@FXML
 	private TextField textFieldId;
 
@@ -54,10 +50,6 @@ public class DepartmentFormController implements Initializable {
 		departmentService = service;
 	}
 
-	public void subscribeDataChangeListener(DataChangeListener listener) {
-		dataChangeListeners.add(listener);
-	}
-
 	@FXML
 	public void onBtSaveAction(ActionEvent event) {
 		if (departmentService == null) {
@@ -69,23 +61,28 @@ public class DepartmentFormController implements Initializable {
 
 		try {
 			entity = getFormData();
-			departmentService.saveOrUpdate(entity);
-			notifyDataChangeListeners();
-			Utils.currentStage(event).close();
-		} catch (DbException e) {
-			Alerts.showAlert("Error saving object", null, e.getMessage(), AlertType.ERROR);
+			Department saving = entity;
+			Stage stage = Utils.currentStage(event);
+			btSave.setDisable(true);
+			departmentService.saveOrUpdateAsync(entity).whenCompleteAsync((v, e) -> {
+				if (e != null) {
+					Alerts.showAlert("Error saving object", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+				}
+				if (saving != entity) {
+					// the dialog was closed and reopened for another department meanwhile
+					return;
+				}
+				btSave.setDisable(false);
+				if (e == null) {
+					stage.close();
+				}
+			}, Platform::runLater);
 		} catch(ValidationException e) {
 			setErrorMessages(e.getErrors());
 		}
 
 	}
 
-	private void notifyDataChangeListeners() {
-		for (DataChangeListener listener : dataChangeListeners) {
-			listener.onDataChanged();
-		}
-	}
-
 	public Department getFormData() {
 		ValidationException exception = new ValidationException("Validation Error.");
 		Department department = new Department();
@@ -122,6 +119,9 @@ public class DepartmentFormController implements Initializable {
 		if (entity == null) {
 			throw new IllegalStateException("Entity is null.");
 		}
+		// the form is reused between dialogs, so nothing from the previous department may be left over
+		errorLabel.setText("");
+		btSave.setDisable(false);
 		textFieldId.setText(String.valueOf(entity.getId()));
 		textFieldName.setText(entity.getName());
 	}
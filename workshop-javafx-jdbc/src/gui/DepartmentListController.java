@@ -2,37 +2,38 @@ package gui;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
-import application.Main;
-import db.DbIntegrityException;
-import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
+import gui.util.RefreshScheduler;
 import gui.util.Utils;
-import javafx.beans.property.ReadOnlyObjectWrapper;
+import gui.util.ViewCache;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.fxml.Initializable;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
-import javafx.scene.control.ButtonType;
-import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.scene.layout.Pane;
-import javafx.stage.Modality;
 import javafx.stage.Stage;
 import model.entities.Department;
+import model.events.EntityChangeEvent;
 import model.services.DepartmentService;
+import model.services.ServiceRegistry;
 
-public class DepartmentListController implements Initializable, DataChangeListener {
+public class DepartmentListController extends CrudListController<Department, Integer> {
+
+	private static final Comparator<Department> ORDER = Comparator
+			.comparing(Department::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+			.thenComparing(Department::getId);
+
+	private static final long REFRESH_QUIET_PERIOD = 200;
+	private static final long REFRESH_MAX_LATENCY = 1000;
 
 	private DepartmentService service;
 
@@ -54,12 +55,15 @@ public class DepartmentListController implements Initializable, DataChangeListen
 	@FXML
 	private Button btNew;
 
+	@FXML
+	private Button btRemoveSelected;
+
 	private ObservableList<Department> obsList;
 
-	@FXML
-	public void onBtNewAction(ActionEvent e) {
-		Department department = new Department();
-		createDialogForm(department, "/gui/DepartmentForm.fxml", Utils.currentStage(e));
+	private RefreshScheduler<List<Department>> refreshScheduler;
+
+	public DepartmentListController() {
+		super(Department.class, Department::getId);
 	}
 
 	public void setDepartmentService(DepartmentService service) {
@@ -72,12 +76,13 @@ public class DepartmentListController implements Initializable, DataChangeListen
 	}
 
 	private void initializeNodes() {
-		tableColumnId.setCellValueFactory(new PropertyValueFactory<>("id"));
-		tableColumnName.setCellValueFactory(new PropertyValueFactory<>("name"));
+		Utils.bindTableColumn(tableColumnId, Department::getId);
+		Utils.bindTableColumn(tableColumnName, Department::getName);
 
-		Stage stage = (Stage) Main.getMainScene().getWindow();
-		tableViewDepartment.prefHeightProperty().bind(stage.heightProperty());
+		initializeTable(tableViewDepartment, tableColumnEdit, tableColumnRemove, btRemoveSelected);
 
+		refreshScheduler = new RefreshScheduler<>(REFRESH_QUIET_PERIOD, REFRESH_MAX_LATENCY, Platform::runLater,
+				() -> service.findAllAsync(), this::onDepartmentsLoaded);
 	}
 
 	public void updateTableView() {
@@ -85,92 +90,72 @@ public class DepartmentListController implements Initializable, DataChangeListen
 			throw new IllegalStateException("Service is null.");
 		}
 
-		List<Department> list = service.findAll();
-		obsList = FXCollections.observableArrayList(list);
-		tableViewDepartment.setItems(obsList);
-		initEditButtons();
-		initRemoveButtons();
+		setLoading(true);
+		refreshScheduler.refreshNow();
+	}
+
+	private void onDepartmentsLoaded(List<Department> list, Throwable e) {
+		setLoading(false);
+		if (e != null) {
+			Alerts.showAlert("Error loading departments", null, e.getMessage(), AlertType.ERROR);
+			return;
+		}
+		if (obsList == null) {
+			obsList = FXCollections.observableArrayList(list);
+			tableViewDepartment.setItems(obsList);
+		} else {
+			obsList.setAll(list);
+		}
+	}
+
+	@Override
+	protected Department newEntity() {
+		return new Department();
+	}
+
+	@Override
+	protected void editEntity(Department department, Stage parentStage) {
+		createDialogForm(department, "/gui/DepartmentForm.fxml", parentStage);
 	}
 
 	private void createDialogForm(Department department, String absoluteName, Stage parentStage) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
-			Pane pane = loader.load();
+			ViewCache.View<DepartmentFormController> view = ViewCache.getDefault().load(absoluteName);
 
-			DepartmentFormController controller = loader.getController();
+			DepartmentFormController controller = view.getController();
 			controller.setDepartment(department);
-			controller.setDepartmentService(new DepartmentService());
-			controller.subscribeDataChangeListener(this);
+			controller.setDepartmentService(ServiceRegistry.getDefault().get(DepartmentService.class));
 			controller.updateFormData();
 
-			Stage dialogStage = new Stage();
-			dialogStage.setTitle("Enter department data:");
-			dialogStage.setScene(new Scene(pane));
-			dialogStage.setResizable(false);
-			dialogStage.initOwner(parentStage);
-			dialogStage.initModality(Modality.WINDOW_MODAL);
-			dialogStage.showAndWait();
+			view.getDialogStage("Enter department data:", parentStage, false).showAndWait();
 		} catch (IOException e) {
 			Alerts.showAlert("IOException", "Error loading view", e.getMessage(), AlertType.ERROR);
 		}
 	}
 
 	@Override
-	public void onDataChanged() {
-		updateTableView();
-	}
-
-	private void initEditButtons() {
-		tableColumnEdit.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
-		tableColumnEdit.setCellFactory(param -> new TableCell<Department, Department>() {
-			private final Button button = new Button("edit");
-
-			@Override
-			protected void updateItem(Department department, boolean empty) {
-				super.updateItem(department, empty);
-				if (department == null) {
-					setGraphic(null);
-					return;
-				}
-				setGraphic(button);
-				button.setOnAction(
-						event -> createDialogForm(department, "/gui/DepartmentForm.fxml", Utils.currentStage(event)));
-			}
-		});
+	protected CompletableFuture<Void> removeAsync(Department department) {
+		if (service == null) {
+			throw new IllegalStateException("Service is null.");
+		}
+		return service.removeAsync(department);
 	}
 
-	private void initRemoveButtons() {
-		tableColumnRemove.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
-		tableColumnRemove.setCellFactory(param -> new TableCell<Department, Department>() {
-			private final Button button = new Button("remove");
-
-			@Override
-			protected void updateItem(Department department, boolean empty) {
-				super.updateItem(department, empty);
-				if (department == null) {
-					setGraphic(null);
-					return;
-				}
-				setGraphic(button);
-				button.setOnAction(event -> removeEntity(department));
-			}
-		});
+	@Override
+	protected CompletableFuture<Void> removeAllAsync(Collection<Department> departments) {
+		if (service == null) {
+			throw new IllegalStateException("Service is null.");
+		}
+		return service.removeAllAsync(departments);
 	}
 
-	private void removeEntity(Department department) {
-		Optional<ButtonType> result = Alerts.showConfirmation("Confirmation", "Are you sure you want to delete this?");
-		if (result.get() == ButtonType.OK) {
-			if (service == null) {
-				throw new IllegalStateException("Service is null.");
-			}
-			try {
-				service.remove(department);
-				updateTableView();
-			} catch (DbIntegrityException e) {
-				Alerts.showAlert("Error removing object", null, e.getMessage(), AlertType.ERROR);
-			}
-		} else {
-			
+	@Override
+	protected void onChanges(List<EntityChangeEvent<Department>> events) {
+		if (obsList == null) {
+			return;
+		}
+		if (!patchItems(obsList, events, ORDER)) {
+			refreshScheduler.requestRefresh();
 		}
 	}
 
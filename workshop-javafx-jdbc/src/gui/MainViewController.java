@@ -1,23 +1,36 @@
 package gui;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.function.Consumer;
 
 import application.Main;
 import gui.util.Alerts;
+import gui.util.Utils;
+import gui.util.ViewCache;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import model.services.DepartmentService;
+import model.services.ExportFormat;
+import model.services.ExportResult;
+import model.services.ExportService;
+import model.services.ReportService;
 import model.services.SellerService;
+import model.services.ServiceRegistry;
 
 public class MainViewController implements Initializable {
 
@@ -27,13 +40,24 @@ public class MainViewController implements Initializable {
 	@FXML
 	private MenuItem menuItemDepartment;
 	
+	@FXML
+	private MenuItem menuItemPayroll;
+	
+	@FXML
+	private MenuItem menuItemExportSellers;
+	
+	@FXML
+	private MenuItem menuItemExportDepartments;
+	
 	@FXML
 	private MenuItem menuItemAbout;
 	
+	private ViewCache.View<?> currentView;
+	
 	@FXML
 	public void onMenuItemSellerAction() {
 		loadView("/gui/SellerList.fxml", (SellerListController controller) -> {
-			controller.setSellerService(new SellerService());
+			controller.setSellerService(ServiceRegistry.getDefault().get(SellerService.class));
 			controller.updateTableView(); 
 		});
 	}
@@ -41,11 +65,47 @@ public class MainViewController implements Initializable {
 	@FXML
 	public void onMenuItemDepartmentAction() {
 		loadView("/gui/DepartmentList.fxml", (DepartmentListController controller) -> {
-			controller.setDepartmentService(new DepartmentService());
+			controller.setDepartmentService(ServiceRegistry.getDefault().get(DepartmentService.class));
 			controller.updateTableView(); 
 		});
 	}
 	
+	@FXML
+	public void onMenuItemPayrollAction() {
+		loadView("/gui/PayrollDashboard.fxml", (PayrollDashboardController controller) -> {
+			controller.setReportService(ServiceRegistry.getDefault().get(ReportService.class));
+			controller.updateDashboard();
+		});
+	}
+	
+	@FXML
+	public void onMenuItemExportSellersAction() {
+		Path file = chooseExportFile("sellers");
+		if (file == null) {
+			return;
+		}
+		menuItemExportSellers.setDisable(true);
+		ServiceRegistry.getDefault().get(ExportService.class).exportSellersAsync(file, ExportFormat.forFile(file), ExportFormat.isCompressed(file),
+				rows -> {}, () -> false).whenCompleteAsync((result, e) -> {
+					menuItemExportSellers.setDisable(false);
+					showExportResult("sellers", result, e);
+				}, Platform::runLater);
+	}
+	
+	@FXML
+	public void onMenuItemExportDepartmentsAction() {
+		Path file = chooseExportFile("departments");
+		if (file == null) {
+			return;
+		}
+		menuItemExportDepartments.setDisable(true);
+		ServiceRegistry.getDefault().get(ExportService.class).exportDepartmentsAsync(file, ExportFormat.forFile(file), ExportFormat.isCompressed(file))
+				.whenCompleteAsync((result, e) -> {
+					menuItemExportDepartments.setDisable(false);
+					showExportResult("departments", result, e);
+				}, Platform::runLater);
+	}
+	
 	@FXML
 	public void onMenuItemAboutAction() {
 		loadView("/gui/About.fxml", x -> {});
@@ -57,21 +117,63 @@ public class MainViewController implements Initializable {
 		
 	}
 	
+	private Path chooseExportFile(String name) {
+		FileChooser chooser = new FileChooser();
+		chooser.setTitle("Export " + name);
+		chooser.setInitialFileName(name + ExportFormat.CSV.getExtension());
+		chooser.getExtensionFilters().addAll(
+				new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+				new FileChooser.ExtensionFilter("Compressed CSV files", "*.csv.gz"),
+				new FileChooser.ExtensionFilter("NDJSON files", "*.ndjson"),
+				new FileChooser.ExtensionFilter("Compressed NDJSON files", "*.ndjson.gz"));
+		File selected = chooser.showSaveDialog(Main.getMainScene().getWindow());
+		if (selected == null) {
+			return null;
+		}
+		String extension = chooser.getSelectedExtensionFilter() == null ? ExportFormat.CSV.getExtension()
+				: chooser.getSelectedExtensionFilter().getExtensions().get(0).substring(1);
+		if (!selected.getName().contains(".")) {
+			selected = new File(selected.getParentFile(), selected.getName() + extension);
+		}
+		return selected.toPath();
+	}
+	
+	private void showExportResult(String name, ExportResult result, Throwable e) {
+		if (e != null) {
+			Alerts.showAlert("Export failed", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+			return;
+		}
+		Alerts.showAlert("Export finished", null, String.format("%d %s written to %s in %.1f s", result.getRows(),
+				name, result.getFile(), result.getElapsedMillis() / 1000.0), AlertType.INFORMATION);
+	}
+	
 	private synchronized <T> void loadView(String absoluteName, Consumer<T> initializingAction) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
-			VBox newVbox = loader.load();
+			ViewCache.View<T> view = ViewCache.getDefault().load(absoluteName);
 			
 			Scene mainScene = Main.getMainScene();
 			VBox mainVbox = (VBox) ((ScrollPane) mainScene.getRoot()).getContent();
 			
-			Node mainMenu = mainVbox.getChildren().get(0);
-			mainVbox.getChildren().clear();
-			mainVbox.getChildren().add(mainMenu);
-			mainVbox.getChildren().addAll(newVbox.getChildren());
+			if (view != currentView) {
+				List<Node> shown = mainVbox.getChildren().subList(1, mainVbox.getChildren().size());
+				List<Node> previous = new ArrayList<>(shown);
+				shown.clear();
+				// the previous view gets its nodes back so it can be shown again without parsing it
+				if (currentView != null) {
+					((Pane) currentView.getRoot()).getChildren().setAll(previous);
+				}
+				VBox newVbox = (VBox) view.getRoot();
+				mainVbox.getChildren().addAll(new ArrayList<>(newVbox.getChildren()));
+				currentView = view;
+			}
 			
-			T controller = loader.getController();
-			initializingAction.accept(controller);
+			// the view shows at once; its data is asked for when the startup warm-up has the database ready
+			T controller = view.getController();
+			if (Main.getWarmUp().isDone()) {
+				initializingAction.accept(controller);
+			} else {
+				Main.getWarmUp().whenCompleteAsync((v, e) -> initializingAction.accept(controller), Platform::runLater);
+			}
 		} catch (IOException e) {
 			Alerts.showAlert("IO Exception", "Error Loading View", "There has been a error in loading the view. Please check if you inserted the correct path.", AlertType.ERROR);
 		}
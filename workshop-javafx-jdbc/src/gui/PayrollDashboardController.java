@@ -0,0 +1,152 @@
+package gui;
+
+import java.net.URL;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import gui.util.Alerts;
+import gui.util.RefreshScheduler;
+import gui.util.Utils;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.chart.BarChart;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import model.entities.Department;
+import model.entities.DepartmentPayroll;
+import model.entities.Seller;
+import model.services.ReportService;
+
+public class PayrollDashboardController implements Initializable {
+
+	private static final long REFRESH_QUIET_PERIOD = 300;
+	private static final long REFRESH_MAX_LATENCY = 2000;
+
+	private ReportService service;
+
+	@FXML
+	private TableView<DepartmentPayroll> tableViewPayroll;
+
+	@FXML
+	private TableColumn<DepartmentPayroll, String> tableColumnDepartment;
+
+	@FXML
+	private TableColumn<DepartmentPayroll, Integer> tableColumnHeadcount;
+
+	@FXML
+	private TableColumn<DepartmentPayroll, Double> tableColumnTotalSalary;
+
+	@FXML
+	private TableColumn<DepartmentPayroll, Double> tableColumnAverageSalary;
+
+	@FXML
+	private TableColumn<DepartmentPayroll, Double> tableColumnMinSalary;
+
+	@FXML
+	private TableColumn<DepartmentPayroll, Double> tableColumnMaxSalary;
+
+	@FXML
+	private BarChart<String, Number> chartTotalSalary;
+
+	@FXML
+	private Button btRefresh;
+
+	private ObservableList<DepartmentPayroll> obsList;
+
+	private RefreshScheduler<List<DepartmentPayroll>> refreshScheduler;
+
+	@FXML
+	public void onBtRefreshAction() {
+		updateDashboard();
+	}
+
+	public void setReportService(ReportService service) {
+		this.service = service;
+	}
+
+	@Override
+	public void initialize(URL url, ResourceBundle resourceBundle) {
+		initializeNodes();
+	}
+
+	private void initializeNodes() {
+		tableColumnDepartment.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(
+				param.getValue().isTotal() ? "Total" : param.getValue().getDepartment().getName()));
+		Utils.bindTableColumn(tableColumnHeadcount, DepartmentPayroll::getHeadcount);
+		Utils.bindTableColumn(tableColumnTotalSalary, DepartmentPayroll::getTotalSalary);
+		Utils.formatTableColumnDouble(tableColumnTotalSalary, 2);
+		Utils.bindTableColumn(tableColumnAverageSalary, DepartmentPayroll::getAverageSalary);
+		Utils.formatTableColumnDouble(tableColumnAverageSalary, 2);
+		Utils.bindTableColumn(tableColumnMinSalary, DepartmentPayroll::getMinSalary);
+		Utils.formatTableColumnDouble(tableColumnMinSalary, 2);
+		Utils.bindTableColumn(tableColumnMaxSalary, DepartmentPayroll::getMaxSalary);
+		Utils.formatTableColumnDouble(tableColumnMaxSalary, 2);
+
+		tableViewPayroll.setRowFactory(param -> new TableRow<DepartmentPayroll>() {
+			@Override
+			protected void updateItem(DepartmentPayroll item, boolean empty) {
+				super.updateItem(item, empty);
+				setStyle(!empty && item != null && item.isTotal() ? "-fx-font-weight: bold;" : "");
+			}
+		});
+
+		// the figures are aggregated by the database, so any change means asking it again
+		refreshScheduler = new RefreshScheduler<>(REFRESH_QUIET_PERIOD, REFRESH_MAX_LATENCY, Platform::runLater,
+				() -> service.findDepartmentPayrollAsync(), this::onPayrollLoaded);
+		Utils.subscribeWhileShowing(tableViewPayroll, Seller.class, events -> onDataChanged());
+		Utils.subscribeWhileShowing(tableViewPayroll, Department.class, events -> onDataChanged());
+	}
+
+	private void onDataChanged() {
+		if (service != null) {
+			refreshScheduler.requestRefresh();
+		}
+	}
+
+	public void updateDashboard() {
+		if (service == null) {
+			throw new IllegalStateException("Service is null.");
+		}
+
+		tableViewPayroll.setPlaceholder(new ProgressIndicator());
+		btRefresh.setDisable(true);
+		refreshScheduler.refreshNow();
+	}
+
+	private void onPayrollLoaded(List<DepartmentPayroll> list, Throwable e) {
+		btRefresh.setDisable(false);
+		tableViewPayroll.setPlaceholder(new Label("No content in table"));
+		if (e != null) {
+			Alerts.showAlert("Error loading payroll", null, e.getMessage(), AlertType.ERROR);
+			return;
+		}
+		if (obsList == null) {
+			obsList = FXCollections.observableArrayList(list);
+			tableViewPayroll.setItems(obsList);
+		} else {
+			obsList.setAll(list);
+		}
+		updateChart(list);
+	}
+
+	private void updateChart(List<DepartmentPayroll> list) {
+		XYChart.Series<String, Number> series = new XYChart.Series<>();
+		for (DepartmentPayroll payroll : list) {
+			if (!payroll.isTotal()) {
+				series.getData().add(new XYChart.Data<>(payroll.getDepartment().getName(), payroll.getTotalSalary()));
+			}
+		}
+		chartTotalSalary.getData().clear();
+		chartTotalSalary.getData().add(series);
+	}
+}
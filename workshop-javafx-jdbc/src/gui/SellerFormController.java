@@ -4,19 +4,16 @@ import java.net.URL;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 
-import db.DbException;
-import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
 import gui.util.Constraints;
 import gui.util.Utils;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -30,12 +27,14 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
+import javafx.stage.Stage;
 import javafx.util.Callback;
 import model.entities.Department;
 import model.entities.Seller;
 import model.exceptions.ValidationException;
 import model.services.DepartmentService;
 import model.services.SellerService;
+import model.services.SellerValidator;
 
 public class SellerFormController implements Initializable {
 
@@ -45,8 +44,6 @@ public class SellerFormController implements Initializable {
 
 	private Seller entity;
 
-	private List<DataChangeListener> dataChangeListeners = new ArrayList<>();
-
 	@FXML
 	private TextField textFieldId;
 
@@ -95,10 +92,6 @@ public class SellerFormController implements Initializable {
 		this.departmentService = departmentService;
 	}
 
-	public void subscribeDataChangeListener(DataChangeListener listener) {
-		dataChangeListeners.add(listener);
-	}
-
 	@FXML
 	public void onBtSaveAction(ActionEvent event) {
 		if (sellerService == null) {
@@ -110,57 +103,36 @@ public class SellerFormController implements Initializable {
 
 		try {
 			entity = getFormData();
-			sellerService.saveOrUpdate(entity);
-			notifyDataChangeListeners();
-			Utils.currentStage(event).close();
-		} catch (DbException e) {
-			Alerts.showAlert("Error saving object", null, e.getMessage(), AlertType.ERROR);
+			Seller saving = entity;
+			Stage stage = Utils.currentStage(event);
+			btSave.setDisable(true);
+			sellerService.saveOrUpdateAsync(entity).whenCompleteAsync((changed, e) -> {
+				if (e != null) {
+					Alerts.showAlert("Error saving object", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+				}
+				if (saving != entity) {
+					// the dialog was closed and reopened for another seller meanwhile
+					return;
+				}
+				btSave.setDisable(false);
+				if (e == null) {
+					stage.close();
+				}
+			}, Platform::runLater);
 		} catch (ValidationException e) {
 			setErrorMessages(e.getErrors());
 		}
 
 	}
 
-	private void notifyDataChangeListeners() {
-		for (DataChangeListener listener : dataChangeListeners) {
-			listener.onDataChanged();
-		}
-	}
-
 	public Seller getFormData() {
-		ValidationException exception = new ValidationException("Validation Error.");
-		Seller seller = new Seller();
-		seller.setId(Utils.tryParseToInt(textFieldId.getText()));
-
-		if (textFieldName.getText() == null || textFieldName.getText().trim().equals("")) {
-			exception.addError("name", "field can't be empty");
-		}
-		seller.setName(textFieldName.getText());
-		
-		if (textFieldEmail.getText() == null || textFieldEmail.getText().trim().equals("")) {
-			exception.addError("email", "field can't be empty");
-		}
-		seller.setEmail(textFieldEmail.getText());
-		
-		if (dpBirthDate.getValue() == null) {
-			exception.addError("birthDate", "field can't be empty");
-		} else {
+		Date birthDate = null;
+		if (dpBirthDate.getValue() != null) {
 			Instant instant = Instant.from(dpBirthDate.getValue().atStartOfDay(ZoneId.systemDefault()));
-			seller.setBirthDate(Date.from(instant));
-		}
-		
-		if (textFieldBaseSalary.getText() == null || textFieldBaseSalary.getText().trim().equals("")) {
-			exception.addError("baseSalary", "field can't be empty");
-		}
-		seller.setBaseSalary(Utils.tryParseToDouble(textFieldBaseSalary.getText()));
-		
-		seller.setDepartment(comboBoxDepartment.getValue());
-		
-		if (exception.getErrors().size() > 0) {
-			throw exception;
+			birthDate = Date.from(instant);
 		}
-		
-		return seller;
+		return SellerValidator.validate(Utils.tryParseToInt(textFieldId.getText()), textFieldName.getText(),
+				textFieldEmail.getText(), birthDate, textFieldBaseSalary.getText(), comboBoxDepartment.getValue());
 	}
 
 	@FXML
@@ -176,9 +148,9 @@ public class SellerFormController implements Initializable {
 
 	private void initializeNodes() {
 		Constraints.setTextFieldInteger(textFieldId);
-		Constraints.setTextFieldMaxLength(textFieldName, 60);
+		Constraints.setTextFieldMaxLength(textFieldName, SellerValidator.NAME_MAX_LENGTH);
 		Constraints.setTextFieldDouble(textFieldBaseSalary);
-		Constraints.setTextFieldMaxLength(textFieldEmail, 100);
+		Constraints.setTextFieldMaxLength(textFieldEmail, SellerValidator.EMAIL_MAX_LENGTH);
 		Utils.formatDatePicker(dpBirthDate, "dd/MM/yyyy");
 		initializeComboBoxDepartment();
 	}
@@ -187,11 +159,16 @@ public class SellerFormController implements Initializable {
 		if (entity == null) {
 			throw new IllegalStateException("Entity is null.");
 		}
+		// the form is reused between dialogs, so nothing from the previous seller may be left over
+		setErrorMessages(Map.of());
+		btSave.setDisable(false);
 		textFieldId.setText(String.valueOf(entity.getId()));
 		textFieldName.setText(entity.getName());
 		textFieldEmail.setText(entity.getEmail());
 		if (entity.getBirthDate() != null) {
 			dpBirthDate.setValue(LocalDate.ofInstant(entity.getBirthDate().toInstant(), ZoneId.systemDefault()));
+		} else {
+			dpBirthDate.setValue(null);
 		}
 		Locale.setDefault(Locale.US);
 		textFieldBaseSalary.setText(String.format("%.2f", entity.getBaseSalary()));
@@ -207,9 +184,17 @@ public class SellerFormController implements Initializable {
 		if (departmentService == null) {
 			throw new IllegalStateException("Department Service is null.");
 		}
-		List<Department> list = departmentService.findAll();
-		obsList = FXCollections.observableArrayList(list);
-		comboBoxDepartment.setItems(obsList);
+		departmentService.findAllAsync().whenCompleteAsync((list, e) -> {
+			if (e != null) {
+				Alerts.showAlert("Error loading departments", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+				return;
+			}
+			obsList = FXCollections.observableArrayList(list);
+			comboBoxDepartment.setItems(obsList);
+			if (comboBoxDepartment.getValue() == null) {
+				comboBoxDepartment.getSelectionModel().selectFirst();
+			}
+		}, Platform::runLater);
 	}
 
 	private void setErrorMessages(Map<String, String> errors) {
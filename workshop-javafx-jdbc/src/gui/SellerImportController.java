@@ -0,0 +1,173 @@
+package gui;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ResourceBundle;
+
+import gui.util.Alerts;
+import gui.util.Utils;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.FileChooser;
+import model.services.SellerImportResult;
+import model.services.SellerImportResult.RejectedRow;
+import model.services.SellerImportService;
+
+public class SellerImportController implements Initializable {
+
+	private SellerImportService service;
+
+	@FXML
+	private Button btChooseFile;
+
+	@FXML
+	private Label labelFile;
+
+	@FXML
+	private ProgressBar progressBarImport;
+
+	@FXML
+	private Label labelStatus;
+
+	@FXML
+	private Button btStart;
+
+	@FXML
+	private Button btCancel;
+
+	@FXML
+	private TableView<RejectedRow> tableViewRejected;
+
+	@FXML
+	private TableColumn<RejectedRow, Integer> tableColumnLine;
+
+	@FXML
+	private TableColumn<RejectedRow, String> tableColumnError;
+
+	@FXML
+	private Label labelReport;
+
+	private final ObservableList<RejectedRow> obsList = FXCollections.observableArrayList();
+
+	private Path file;
+
+	private boolean running;
+
+	private volatile boolean cancelRequested;
+
+	@FXML
+	public void onBtChooseFileAction(ActionEvent e) {
+		FileChooser chooser = new FileChooser();
+		chooser.setTitle("Select sellers file");
+		chooser.getExtensionFilters().addAll(
+				new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+				new FileChooser.ExtensionFilter("All files", "*.*"));
+		File selected = chooser.showOpenDialog(Utils.currentStage(e));
+		if (selected != null) {
+			file = selected.toPath();
+			labelFile.setText(selected.getName());
+			btStart.setDisable(false);
+		}
+	}
+
+	@FXML
+	public void onBtStartAction() {
+		if (service == null) {
+			throw new IllegalStateException("Service is null.");
+		}
+		if (file == null || running) {
+			return;
+		}
+
+		running = true;
+		cancelRequested = false;
+		setRunningState(true);
+		obsList.clear();
+		progressBarImport.setProgress(0);
+		labelStatus.setText("Importing " + file.getFileName() + "...");
+		labelReport.setText("");
+
+		service.importFileAsync(file, SellerImportService.DEFAULT_BATCH_SIZE, this::onProgress, () -> cancelRequested)
+				.whenCompleteAsync((result, e) -> {
+					running = false;
+					setRunningState(false);
+					if (e != null) {
+						labelStatus.setText("Import failed");
+						Alerts.showAlert("Error importing sellers", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+						return;
+					}
+					showResult(result);
+				}, Platform::runLater);
+	}
+
+	@FXML
+	public void onBtCancelAction() {
+		cancel();
+	}
+
+	public void cancel() {
+		if (running) {
+			cancelRequested = true;
+			btCancel.setDisable(true);
+			labelStatus.setText("Cancelling...");
+		}
+	}
+
+	public void setSellerImportService(SellerImportService service) {
+		this.service = service;
+	}
+
+	@Override
+	public void initialize(URL url, ResourceBundle resourceBundle) {
+		initializeNodes();
+	}
+
+	private void initializeNodes() {
+		Utils.bindTableColumn(tableColumnLine, RejectedRow::getLineNumber);
+		Utils.bindTableColumn(tableColumnError, RejectedRow::getMessage);
+		tableViewRejected.setPlaceholder(new Label("No rejected rows"));
+		tableViewRejected.setItems(obsList);
+	}
+
+	private void onProgress(long bytesRead, long totalBytes, long imported, long rejected) {
+		Platform.runLater(() -> {
+			if (!running) {
+				return;
+			}
+			progressBarImport.setProgress(totalBytes > 0 ? (double) bytesRead / totalBytes : 1.0);
+			if (!cancelRequested) {
+				labelStatus.setText(imported + " imported, " + rejected + " rejected");
+			}
+		});
+	}
+
+	private void showResult(SellerImportResult result) {
+		String status = result.isCancelled() ? "Cancelled: " : "Finished: ";
+		labelStatus.setText(status + result.getImported() + " imported, " + result.getRejected() + " rejected in "
+				+ String.format("%.1f", result.getElapsedMillis() / 1000.0) + " s");
+		obsList.setAll(result.getRejectedSample());
+		if (result.getReportFile() != null) {
+			String shown = result.getRejected() > result.getRejectedSample().size()
+					? "First " + result.getRejectedSample().size() + " rejected rows shown, all of them were written to "
+					: "Rejected rows written to ";
+			labelReport.setText(shown + result.getReportFile());
+		}
+	}
+
+	private void setRunningState(boolean running) {
+		btChooseFile.setDisable(running);
+		btStart.setDisable(running);
+		btCancel.setDisable(!running);
+	}
+}
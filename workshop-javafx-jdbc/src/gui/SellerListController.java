@@ -2,39 +2,66 @@ package gui;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
-import application.Main;
-import db.DbIntegrityException;
-import gui.listeners.DataChangeListener;
 import gui.util.Alerts;
+import gui.util.Constraints;
+import gui.util.PagedObservableList;
+import gui.util.RefreshScheduler;
 import gui.util.Utils;
-import javafx.beans.property.ReadOnlyObjectWrapper;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import gui.util.ViewCache;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
-import javafx.fxml.Initializable;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
-import javafx.scene.control.ButtonType;
-import javafx.scene.control.TableCell;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.MenuButton;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.SortType;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.Pane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import model.dao.SellerCriteria;
+import model.dao.SellerSortKey;
+import model.entities.Department;
 import model.entities.Seller;
+import model.events.ChangeOperation;
+import model.events.EntityChangeEvent;
 import model.services.DepartmentService;
+import model.services.SellerImportService;
 import model.services.SellerService;
+import model.services.ServiceExecutor;
+import model.services.ServiceRegistry;
 
-public class SellerListController implements Initializable, DataChangeListener {
+public class SellerListController extends CrudListController<Seller, Integer> {
+
+	private static final int PAGE_SIZE = 200;
+	private static final int MAX_PAGES = 16;
+	private static final int PREFETCH_PAGES = 1;
+	private static final long REFRESH_QUIET_PERIOD = 200;
+	private static final long REFRESH_MAX_LATENCY = 1000;
 
 	private SellerService service;
 
@@ -65,12 +92,72 @@ public class SellerListController implements Initializable, DataChangeListener {
 	@FXML
 	private Button btNew;
 
-	private ObservableList<Seller> obsList;
+	@FXML
+	private Button btRemoveSelected;
+
+	@FXML
+	private Button btImport;
+
+	@FXML
+	private TextField textFieldFilterName;
+
+	@FXML
+	private TextField textFieldFilterEmail;
+
+	@FXML
+	private TextField textFieldFilterMinSalary;
+
+	@FXML
+	private TextField textFieldFilterMaxSalary;
+
+	@FXML
+	private DatePicker dpFilterBirthDateFrom;
+
+	@FXML
+	private DatePicker dpFilterBirthDateTo;
 
 	@FXML
-	public void onBtNewAction(ActionEvent e) {
-		Seller seller = new Seller();
-		createDialogForm(seller, "/gui/SellerForm.fxml", Utils.currentStage(e));
+	private MenuButton menuButtonFilterDepartments;
+
+	@FXML
+	private Button btClearFilter;
+
+	private final Set<Integer> filterDepartmentIds = new HashSet<>();
+
+	private final PauseTransition filterDelay = new PauseTransition(Duration.millis(300));
+
+	private PagedObservableList<Seller> pagedList;
+
+	private SellerSortKey sortKey = SellerSortKey.NAME;
+
+	private boolean sortAscending = true;
+
+	private RefreshScheduler<Integer> refreshScheduler;
+
+	private boolean scrollToTopOnLoad;
+
+	public SellerListController() {
+		super(Seller.class, Seller::getId);
+	}
+
+	@FXML
+	public void onBtImportAction(ActionEvent e) {
+		createImportDialog("/gui/SellerImport.fxml", Utils.currentStage(e));
+	}
+
+	@FXML
+	public void onBtClearFilterAction(ActionEvent e) {
+		textFieldFilterName.clear();
+		textFieldFilterEmail.clear();
+		textFieldFilterMinSalary.clear();
+		textFieldFilterMaxSalary.clear();
+		dpFilterBirthDateFrom.setValue(null);
+		dpFilterBirthDateTo.setValue(null);
+		filterDepartmentIds.clear();
+		menuButtonFilterDepartments.getItems().clear();
+		menuButtonFilterDepartments.setText("Departments");
+		filterDelay.stop();
+		updateTableView();
 	}
 
 	public void setSellerService(SellerService service) {
@@ -83,17 +170,119 @@ public class SellerListController implements Initializable, DataChangeListener {
 	}
 
 	private void initializeNodes() {
-		tableColumnId.setCellValueFactory(new PropertyValueFactory<>("id"));
-		tableColumnName.setCellValueFactory(new PropertyValueFactory<>("name"));
-		tableColumnEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
-		tableColumnBirthDate.setCellValueFactory(new PropertyValueFactory<>("birthDate"));
+		Utils.bindTableColumn(tableColumnId, Seller::getId);
+		Utils.bindTableColumn(tableColumnName, Seller::getName);
+		Utils.bindTableColumn(tableColumnEmail, Seller::getEmail);
+		Utils.bindTableColumn(tableColumnBirthDate, Seller::getBirthDate);
 		Utils.formatTableColumnDate(tableColumnBirthDate, "dd/MM/yyyy");
-		tableColumnBaseSalary.setCellValueFactory(new PropertyValueFactory<>("baseSalary"));
+		Utils.bindTableColumn(tableColumnBaseSalary, Seller::getBaseSalary);
 		Utils.formatTableColumnDouble(tableColumnBaseSalary, 2);
 
-		Stage stage = (Stage) Main.getMainScene().getWindow();
-		tableViewSeller.prefHeightProperty().bind(stage.heightProperty());
+		initializeTable(tableViewSeller, tableColumnEdit, tableColumnRemove, btRemoveSelected);
+		initializeFilter();
+		initializeSort();
+	}
+
+	private void initializeFilter() {
+		Constraints.setTextFieldDouble(textFieldFilterMinSalary);
+		Constraints.setTextFieldDouble(textFieldFilterMaxSalary);
+		Utils.formatDatePicker(dpFilterBirthDateFrom, "dd/MM/yyyy");
+		Utils.formatDatePicker(dpFilterBirthDateTo, "dd/MM/yyyy");
+		dpFilterBirthDateFrom.setPromptText("Born from");
+		dpFilterBirthDateTo.setPromptText("Born to");
+
+		filterDelay.setOnFinished(e -> updateTableView());
+		InvalidationListener scheduleSearch = obs -> filterDelay.playFromStart();
+		textFieldFilterName.textProperty().addListener(scheduleSearch);
+		textFieldFilterEmail.textProperty().addListener(scheduleSearch);
+		textFieldFilterMinSalary.textProperty().addListener(scheduleSearch);
+		textFieldFilterMaxSalary.textProperty().addListener(scheduleSearch);
+		dpFilterBirthDateFrom.valueProperty().addListener(scheduleSearch);
+		dpFilterBirthDateTo.valueProperty().addListener(scheduleSearch);
+		menuButtonFilterDepartments.setOnShowing(e -> loadFilterDepartments());
+	}
+
+	private void initializeSort() {
+		tableViewSeller.setSortPolicy(table -> {
+			SellerSortKey key = SellerSortKey.NAME;
+			boolean ascending = true;
+			if (!table.getSortOrder().isEmpty()) {
+				TableColumn<Seller, ?> column = table.getSortOrder().get(0);
+				key = sortKeyOf(column);
+				ascending = column.getSortType() == SortType.ASCENDING;
+			}
+			if (key != sortKey || ascending != sortAscending) {
+				sortKey = key;
+				sortAscending = ascending;
+				if (service != null) {
+					updateTableView();
+				}
+			}
+			return true;
+		});
+	}
+
+	private SellerSortKey sortKeyOf(TableColumn<Seller, ?> column) {
+		if (column == tableColumnId) {
+			return SellerSortKey.ID;
+		}
+		if (column == tableColumnEmail) {
+			return SellerSortKey.EMAIL;
+		}
+		if (column == tableColumnBirthDate) {
+			return SellerSortKey.BIRTH_DATE;
+		}
+		if (column == tableColumnBaseSalary) {
+			return SellerSortKey.BASE_SALARY;
+		}
+		return SellerSortKey.NAME;
+	}
+
+	private void loadFilterDepartments() {
+		ServiceRegistry.getDefault().get(DepartmentService.class).findAllAsync().whenCompleteAsync((list, e) -> {
+			if (e != null) {
+				Alerts.showAlert("Error loading departments", null, Utils.unwrap(e).getMessage(), AlertType.ERROR);
+				return;
+			}
+			List<MenuItem> items = new ArrayList<>();
+			for (Department department : list) {
+				CheckBox checkBox = new CheckBox(department.getName());
+				checkBox.setSelected(filterDepartmentIds.contains(department.getId()));
+				checkBox.selectedProperty().addListener((obs, oldValue, selected) -> {
+					if (selected) {
+						filterDepartmentIds.add(department.getId());
+					} else {
+						filterDepartmentIds.remove(department.getId());
+					}
+					menuButtonFilterDepartments.setText(filterDepartmentIds.isEmpty() ? "Departments"
+							: "Departments (" + filterDepartmentIds.size() + ")");
+					filterDelay.playFromStart();
+				});
+				items.add(new CustomMenuItem(checkBox, false));
+			}
+			menuButtonFilterDepartments.getItems().setAll(items);
+		}, Platform::runLater);
+	}
 
+	private SellerCriteria getFilterCriteria() {
+		SellerCriteria criteria = new SellerCriteria();
+		criteria.setNamePrefix(textFieldFilterName.getText());
+		criteria.setEmailPrefix(textFieldFilterEmail.getText());
+		criteria.setMinBaseSalary(Utils.tryParseToDouble(textFieldFilterMinSalary.getText()));
+		criteria.setMaxBaseSalary(Utils.tryParseToDouble(textFieldFilterMaxSalary.getText()));
+		if (dpFilterBirthDateFrom.getValue() != null) {
+			criteria.setBirthDateFrom(startOfDay(dpFilterBirthDateFrom.getValue()));
+		}
+		if (dpFilterBirthDateTo.getValue() != null) {
+			criteria.setBirthDateBefore(startOfDay(dpFilterBirthDateTo.getValue().plusDays(1)));
+		}
+		criteria.setDepartmentIds(filterDepartmentIds);
+		criteria.setSort(sortKey, sortAscending);
+		return criteria;
+	}
+
+	private static Date startOfDay(LocalDate date) {
+		return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
 	}
 
 	public void updateTableView() {
@@ -101,31 +290,97 @@ public class SellerListController implements Initializable, DataChangeListener {
 			throw new IllegalStateException("Service is null.");
 		}
 
-		List<Seller> list = service.findAll();
-		obsList = FXCollections.observableArrayList(list);
-		tableViewSeller.setItems(obsList);
-		initEditButtons();
-		initRemoveButtons();
+		if (pagedList == null) {
+			pagedList = new PagedObservableList<>(PAGE_SIZE, MAX_PAGES, PREFETCH_PAGES,
+					ServiceExecutor.getExecutor(), Platform::runLater);
+			pagedList.setOnLoadFailed(e -> Alerts.showAlert("Error loading sellers", null, e.getMessage(),
+					AlertType.ERROR));
+			tableViewSeller.setItems(pagedList);
+			refreshScheduler = new RefreshScheduler<>(REFRESH_QUIET_PERIOD, REFRESH_MAX_LATENCY, Platform::runLater,
+					pagedList::refresh, this::onSellersLoaded);
+		}
+		SellerService source = service;
+		SellerCriteria criteria = getFilterCriteria();
+		pagedList.setSource(new PagedObservableList.PageSource<Seller>() {
+			@Override
+			public int count() {
+				return source.countByCriteria(criteria);
+			}
+
+			@Override
+			public List<Seller> load(int offset, int limit) {
+				return source.findRange(criteria, offset, limit);
+			}
+		});
+		setLoading(true);
+		scrollToTopOnLoad = true;
+		refreshScheduler.refreshNow();
+	}
+
+	private void onSellersLoaded(Integer count, Throwable e) {
+		if (e instanceof CancellationException) {
+			return;
+		}
+		setLoading(false);
+		if (e != null) {
+			Alerts.showAlert("Error loading sellers", null, e.getMessage(), AlertType.ERROR);
+			return;
+		}
+		if (scrollToTopOnLoad && count > 0) {
+			tableViewSeller.scrollTo(0);
+		}
+		scrollToTopOnLoad = false;
+	}
+
+	@Override
+	protected Seller newEntity() {
+		return new Seller();
+	}
+
+	@Override
+	protected void editEntity(Seller seller, Stage parentStage) {
+		createDialogForm(seller, "/gui/SellerForm.fxml", parentStage);
 	}
 
 	private void createDialogForm(Seller seller, String absoluteName, Stage parentStage) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
-			Pane pane = loader.load();
+			ViewCache.View<SellerFormController> view = ViewCache.getDefault().load(absoluteName);
 
-			SellerFormController controller = loader.getController();
+			if (seller.getId() != null) {
+				service.track(seller);
+			}
+
+			SellerFormController controller = view.getController();
 			controller.setSeller(seller);
-			controller.setServices(new SellerService(), new DepartmentService());
+			controller.setServices(service, ServiceRegistry.getDefault().get(DepartmentService.class));
 			controller.loadAssociatedObjects();
-			controller.subscribeDataChangeListener(this);
 			controller.updateFormData();
 
+			view.getDialogStage("Enter seller data:", parentStage, false).showAndWait();
+
+			if (seller.getId() != null) {
+				service.untrack(seller);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			Alerts.showAlert("IOException", "Error loading view", e.getMessage(), AlertType.ERROR);
+		}
+	}
+
+	private void createImportDialog(String absoluteName, Stage parentStage) {
+		try {
+			FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
+			Pane pane = loader.load();
+
+			SellerImportController controller = loader.getController();
+			controller.setSellerImportService(ServiceRegistry.getDefault().get(SellerImportService.class));
+
 			Stage dialogStage = new Stage();
-			dialogStage.setTitle("Enter seller data:");
+			dialogStage.setTitle("Import sellers");
 			dialogStage.setScene(new Scene(pane));
-			dialogStage.setResizable(false);
 			dialogStage.initOwner(parentStage);
 			dialogStage.initModality(Modality.WINDOW_MODAL);
+			dialogStage.setOnCloseRequest(event -> controller.cancel());
 			dialogStage.showAndWait();
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -134,64 +389,81 @@ public class SellerListController implements Initializable, DataChangeListener {
 	}
 
 	@Override
-	public void onDataChanged() {
-		updateTableView();
+	protected void onChanges(List<EntityChangeEvent<Seller>> events) {
+		if (pagedList == null) {
+			return;
+		}
+		boolean reload = false;
+		for (EntityChangeEvent<Seller> event : events) {
+			if (event.getOperation() != ChangeOperation.UPDATE || !patchLoaded(event.getSnapshot())) {
+				reload = true;
+			}
+		}
+		// a burst of changes, e.g. from another window saving in a loop, is folded into a few reloads
+		if (reload) {
+			refreshScheduler.requestRefresh();
+		}
 	}
 
-
-	private void initEditButtons() {
-		tableColumnEdit.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
-		tableColumnEdit.setCellFactory(param -> new TableCell<Seller, Seller>() {
-			private final Button button = new Button("edit");
-
-			@Override
-			protected void updateItem(Seller seller, boolean empty) {
-				super.updateItem(seller, empty);
-				if (seller == null) {
-					setGraphic(null);
-					return;
-				}
-				setGraphic(button);
-				button.setOnAction(
-						event -> createDialogForm(seller, "/gui/SellerForm.fxml", Utils.currentStage(event)));
+	// an update only needs a reload when it may have moved the row or taken it out of the filter
+	private boolean patchLoaded(Seller seller) {
+		int index = pagedList.indexOfLoaded(seller);
+		if (index < 0 || !getFilterCriteria().isEmpty()) {
+			return false;
+		}
+		Comparator<Seller> order = sortOrder();
+		if (index > 0) {
+			Seller previous = pagedList.getLoaded(index - 1);
+			if (previous == null || order.compare(previous, seller) > 0) {
+				return false;
 			}
-		});
+		}
+		if (index < pagedList.size() - 1) {
+			Seller next = pagedList.getLoaded(index + 1);
+			if (next == null || order.compare(seller, next) > 0) {
+				return false;
+			}
+		}
+		pagedList.setLoaded(index, seller);
+		return true;
 	}
 
-	private void initRemoveButtons() {
-		tableColumnRemove.setCellValueFactory(param -> new ReadOnlyObjectWrapper<>(param.getValue()));
-		tableColumnRemove.setCellFactory(param -> new TableCell<Seller, Seller>() {
-			private final Button button = new Button("remove");
+	private Comparator<Seller> sortOrder() {
+		Comparator<Seller> order;
+		switch (sortKey) {
+		case ID:
+			order = Comparator.comparing(Seller::getId);
+			break;
+		case EMAIL:
+			order = Comparator.comparing(Seller::getEmail, String.CASE_INSENSITIVE_ORDER);
+			break;
+		case BIRTH_DATE:
+			order = Comparator.comparing(Seller::getBirthDate);
+			break;
+		case BASE_SALARY:
+			order = Comparator.comparing(Seller::getBaseSalary);
+			break;
+		default:
+			order = Comparator.comparing(Seller::getName, String.CASE_INSENSITIVE_ORDER);
+		}
+		order = order.thenComparing(Seller::getId);
+		return sortAscending ? order : order.reversed();
+	}
 
-			@Override
-			protected void updateItem(Seller seller, boolean empty) {
-				super.updateItem(seller, empty);
-				if (seller == null) {
-					setGraphic(null);
-					return;
-				}
-				setGraphic(button);
-				button.setOnAction(event -> removeEntity(seller));
-			}
-		});
+	@Override
+	protected CompletableFuture<Void> removeAsync(Seller seller) {
+		if (service == null) {
+			throw new IllegalStateException("Service is null.");
+		}
+		return service.removeAsync(seller);
 	}
 
-	private void removeEntity(Seller seller) {
-		Optional<ButtonType> result = Alerts.showConfirmation("Confirmation", "Are you sure you want to delete this?");
-		if (result.get() == ButtonType.OK) {
-			if (service == null) {
-				throw new IllegalStateException("Service is null.");
-			}
-			try {
-				service.remove(seller);
-				updateTableView();
-			} catch (DbIntegrityException e) {
-				Alerts.showAlert("Error removing object", null, e.getMessage(), AlertType.ERROR);
-			}
-		} else {
-			
+	@Override
+	protected CompletableFuture<Void> removeAllAsync(Collection<Seller> sellers) {
+		if (service == null) {
+			throw new IllegalStateException("Service is null.");
 		}
+		return service.removeAllAsync(sellers);
 	}
 
 }
-
@@ -0,0 +1,50 @@
+package gui.util;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import model.events.ChangeOperation;
+
+public class ListPatcher {
+
+	public static <T> void apply(List<T> list, T entity, ChangeOperation operation, Comparator<? super T> order,
+			Function<? super T, ?> idOf) {
+		int index = indexOf(list, idOf.apply(entity), idOf);
+		if (operation == ChangeOperation.DELETE) {
+			if (index >= 0) {
+				list.remove(index);
+			}
+			return;
+		}
+		if (index >= 0) {
+			boolean afterPrevious = index == 0 || order.compare(list.get(index - 1), entity) <= 0;
+			boolean beforeNext = index == list.size() - 1 || order.compare(entity, list.get(index + 1)) <= 0;
+			if (afterPrevious && beforeNext) {
+				list.set(index, entity);
+				return;
+			}
+			list.remove(index);
+		}
+		int position = Collections.binarySearch(list, entity, order);
+		list.add(position < 0 ? -position - 1 : position, entity);
+	}
+
+	public static <T> void remove(List<T> list, Object id, Function<? super T, ?> idOf) {
+		int index = indexOf(list, id, idOf);
+		if (index >= 0) {
+			list.remove(index);
+		}
+	}
+
+	private static <T> int indexOf(List<T> list, Object id, Function<? super T, ?> idOf) {
+		for (int i = 0; i < list.size(); i++) {
+			if (Objects.equals(idOf.apply(list.get(i)), id)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,239 @@
+package gui.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import javafx.collections.ObservableListBase;
+
+public class PagedObservableList<T> extends ObservableListBase<T> {
+
+	public interface PageSource<T> {
+		int count();
+		List<T> load(int offset, int limit);
+	}
+
+	private static final int MAX_IN_FLIGHT = 2;
+
+	private final int pageSize;
+	private final int maxPages;
+	private final int prefetchPages;
+	private final Executor loadExecutor;
+	private final Executor fxExecutor;
+
+	private final Map<Integer, List<T>> pages;
+	private final Set<Integer> queued = new LinkedHashSet<>();
+	private final Set<Integer> loading = new HashSet<>();
+
+	private PageSource<T> source;
+	private Consumer<Throwable> onLoadFailed = e -> {};
+	private int size;
+	private int focusPage;
+	private int generation;
+	private boolean failed;
+
+	public PagedObservableList(int pageSize, int maxPages, int prefetchPages, Executor loadExecutor,
+			Executor fxExecutor) {
+		if (pageSize < 1 || prefetchPages < 0 || maxPages < 2 * prefetchPages + 3) {
+			throw new IllegalArgumentException("Invalid paging: pageSize=" + pageSize + ", maxPages=" + maxPages
+					+ ", prefetchPages=" + prefetchPages);
+		}
+		this.pageSize = pageSize;
+		this.maxPages = maxPages;
+		this.prefetchPages = prefetchPages;
+		this.loadExecutor = loadExecutor;
+		this.fxExecutor = fxExecutor;
+		this.pages = new LinkedHashMap<Integer, List<T>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+				return size() > PagedObservableList.this.maxPages;
+			}
+		};
+	}
+
+	public void setSource(PageSource<T> source) {
+		this.source = source;
+	}
+
+	public void setOnLoadFailed(Consumer<Throwable> onLoadFailed) {
+		this.onLoadFailed = onLoadFailed;
+	}
+
+	public CompletableFuture<Integer> refresh() {
+		if (source == null) {
+			throw new IllegalStateException("Source is null.");
+		}
+		int currentGeneration = ++generation;
+		PageSource<T> currentSource = source;
+		failed = false;
+		queued.clear();
+		loading.clear();
+
+		CompletableFuture<Integer> result = new CompletableFuture<>();
+		CompletableFuture.supplyAsync(currentSource::count, loadExecutor).whenCompleteAsync((count, e) -> {
+			if (currentGeneration != generation) {
+				result.cancel(false);
+				return;
+			}
+			if (e != null) {
+				failed = true;
+				result.completeExceptionally(Utils.unwrap(e));
+				return;
+			}
+			pages.clear();
+			resize(count);
+			result.complete(count);
+		}, fxExecutor);
+		return result;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		int page = index / pageSize;
+		focusPage = page;
+		List<T> rows = pages.get(page);
+		if (rows == null) {
+			request(page);
+		}
+		for (int i = 1; i <= prefetchPages; i++) {
+			request(page + i);
+			request(page - i);
+		}
+		int offset = index - page * pageSize;
+		return rows == null || offset >= rows.size() ? null : rows.get(offset);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public int indexOfLoaded(T item) {
+		for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+			int offset = entry.getValue().indexOf(item);
+			if (offset >= 0) {
+				int index = entry.getKey() * pageSize + offset;
+				return index < size ? index : -1;
+			}
+		}
+		return -1;
+	}
+
+	public T getLoaded(int index) {
+		if (index < 0 || index >= size) {
+			return null;
+		}
+		List<T> rows = pages.get(index / pageSize);
+		int offset = index % pageSize;
+		return rows == null || offset >= rows.size() ? null : rows.get(offset);
+	}
+
+	public void setLoaded(int index, T item) {
+		int page = index / pageSize;
+		int offset = index % pageSize;
+		List<T> rows = pages.get(page);
+		if (index >= size || rows == null || offset >= rows.size()) {
+			throw new IllegalStateException("Row " + index + " is not loaded");
+		}
+		List<T> copy = new ArrayList<>(rows);
+		T old = copy.set(offset, item);
+		pages.put(page, copy);
+		beginChange();
+		nextSet(index, old);
+		endChange();
+	}
+
+	private void resize(int count) {
+		int oldSize = size;
+		size = count;
+		int common = Math.min(oldSize, count);
+		beginChange();
+		if (common > 0) {
+			nextReplace(0, common, Collections.<T>nCopies(common, null));
+		}
+		if (count > oldSize) {
+			nextAdd(oldSize, count);
+		} else if (count < oldSize) {
+			nextRemove(count, Collections.<T>nCopies(oldSize - count, null));
+		}
+		endChange();
+	}
+
+	private void request(int page) {
+		if (failed || page < 0 || (long) page * pageSize >= size) {
+			return;
+		}
+		if (pages.containsKey(page) || loading.contains(page) || !queued.add(page)) {
+			return;
+		}
+		dispatch();
+	}
+
+	private void dispatch() {
+		while (loading.size() < MAX_IN_FLIGHT && !queued.isEmpty()) {
+			int page = closestQueued();
+			queued.remove(page);
+			if (Math.abs(page - focusPage) > maxPages / 2) {
+				continue;
+			}
+			loading.add(page);
+			load(page);
+		}
+	}
+
+	private int closestQueued() {
+		int closest = -1;
+		for (int page : queued) {
+			if (closest < 0 || Math.abs(page - focusPage) < Math.abs(closest - focusPage)) {
+				closest = page;
+			}
+		}
+		return closest;
+	}
+
+	private void load(int page) {
+		int currentGeneration = generation;
+		PageSource<T> currentSource = source;
+		int offset = page * pageSize;
+		CompletableFuture.supplyAsync(() -> currentSource.load(offset, pageSize), loadExecutor)
+				.whenCompleteAsync((rows, e) -> {
+					if (currentGeneration != generation) {
+						return;
+					}
+					loading.remove(page);
+					if (e != null) {
+						failed = true;
+						queued.clear();
+						onLoadFailed.accept(Utils.unwrap(e));
+						return;
+					}
+					pageLoaded(page, rows);
+					dispatch();
+				}, fxExecutor);
+	}
+
+	private void pageLoaded(int page, List<T> rows) {
+		int from = page * pageSize;
+		if (from >= size) {
+			return;
+		}
+		pages.put(page, rows);
+		int to = Math.min(size, from + pageSize);
+		beginChange();
+		nextReplace(from, to, Collections.<T>nCopies(to - from, null));
+		endChange();
+	}
+}
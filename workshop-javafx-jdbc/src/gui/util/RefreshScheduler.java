@@ -0,0 +1,117 @@
+package gui.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+public class RefreshScheduler<T> {
+
+	private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+	private final long quietPeriodNanos;
+	private final long maxLatencyNanos;
+	private final Executor fxExecutor;
+	private final Supplier<CompletableFuture<T>> loader;
+	private final BiConsumer<? super T, Throwable> onLoaded;
+
+	// everything below is only touched on the FX thread
+	private boolean pending;
+	private long firstSignalAt;
+	private int timerGeneration;
+	private ScheduledFuture<?> timer;
+	private boolean inFlight;
+	private boolean dirty;
+	private long deliveredAt;
+
+	public RefreshScheduler(long quietPeriodMillis, long maxLatencyMillis, Executor fxExecutor,
+			Supplier<CompletableFuture<T>> loader, BiConsumer<? super T, Throwable> onLoaded) {
+		if (quietPeriodMillis < 0 || maxLatencyMillis < quietPeriodMillis) {
+			throw new IllegalArgumentException("Invalid refresh timing: quietPeriodMillis=" + quietPeriodMillis
+					+ ", maxLatencyMillis=" + maxLatencyMillis);
+		}
+		this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis);
+		this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+		this.fxExecutor = fxExecutor;
+		this.loader = loader;
+		this.onLoaded = onLoaded;
+		deliveredAt = System.nanoTime();
+	}
+
+	private static ScheduledThreadPoolExecutor createTimer() {
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread t = new Thread(r, "refresh-timer");
+			t.setDaemon(true);
+			return t;
+		});
+		timer.setRemoveOnCancelPolicy(true);
+		return timer;
+	}
+
+	public void requestRefresh() {
+		long now = System.nanoTime();
+		if (!pending) {
+			pending = true;
+			firstSignalAt = now;
+		}
+		long delay = Math.max(0, Math.min(quietPeriodNanos, firstSignalAt + maxLatencyNanos - now));
+		cancelTimer();
+		int generation = timerGeneration;
+		timer = TIMER.schedule(() -> fxExecutor.execute(() -> {
+			if (generation == timerGeneration) {
+				fire();
+			}
+		}), delay, TimeUnit.NANOSECONDS);
+	}
+
+	public void refreshNow() {
+		fire();
+	}
+
+	private void cancelTimer() {
+		// the generation also catches a timer that already handed its task to the FX executor
+		timerGeneration++;
+		if (timer != null) {
+			timer.cancel(false);
+			timer = null;
+		}
+	}
+
+	private void fire() {
+		pending = false;
+		cancelTimer();
+		if (inFlight) {
+			dirty = true;
+			return;
+		}
+		start();
+	}
+
+	private void start() {
+		inFlight = true;
+		CompletableFuture<T> future;
+		try {
+			future = loader.get();
+		}
+		catch (RuntimeException e) {
+			future = CompletableFuture.failedFuture(e);
+		}
+		future.whenCompleteAsync((result, e) -> {
+			inFlight = false;
+			long now = System.nanoTime();
+			boolean superseded = dirty;
+			// a result that is already out of date is still shown when the view would otherwise stay stale too long
+			if (!superseded || now - deliveredAt >= maxLatencyNanos) {
+				deliveredAt = now;
+				onLoaded.accept(result, e == null ? null : Utils.unwrap(e));
+			}
+			if (superseded) {
+				dirty = false;
+				start();
+			}
+		}, fxExecutor);
+	}
+}
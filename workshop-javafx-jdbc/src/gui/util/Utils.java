@@ -1,11 +1,17 @@
 package gui.util;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.Locale;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.event.ActionEvent;
 import javafx.scene.Node;
 import javafx.scene.control.DatePicker;
@@ -13,6 +19,8 @@ import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
+import model.events.EntityChangeListener;
+import model.events.EventBus;
 
 public class Utils {
 
@@ -20,6 +28,27 @@ public class Utils {
 		return (Stage) ((Node) e.getSource()).getScene().getWindow();
 	}
 
+	public static Throwable unwrap(Throwable e) {
+		while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+			e = e.getCause();
+		}
+		return e;
+	}
+
+	public static <T> void subscribeWhileShowing(Node node, Class<T> entityType, EntityChangeListener<T> listener) {
+		EventBus.Subscription[] subscription = new EventBus.Subscription[1];
+		Runnable update = () -> {
+			if (node.getScene() != null && subscription[0] == null) {
+				subscription[0] = EventBus.getDefault().subscribe(entityType, listener, Platform::runLater);
+			} else if (node.getScene() == null && subscription[0] != null) {
+				subscription[0].cancel();
+				subscription[0] = null;
+			}
+		};
+		node.sceneProperty().addListener((obs, oldScene, newScene) -> update.run());
+		update.run();
+	}
+
 	public static Integer tryParseToInt(String string) {
 		try {
 			return Integer.parseInt(string);
@@ -36,6 +65,14 @@ public class Utils {
 		}
 	}
 
+	// a plain getter call per cell, where PropertyValueFactory looks the getter up reflectively
+	public static <T, V> void bindTableColumn(TableColumn<T, V> tableColumn, Function<? super T, ? extends V> getter) {
+		tableColumn.setCellValueFactory(param -> {
+			T row = param.getValue();
+			return row == null ? null : new ReadOnlyObjectWrapper<>(getter.apply(row));
+		});
+	}
+
 	public static <T> void formatTableColumnDate(TableColumn<T, Date> tableColumn, String format) {
 		tableColumn.setCellFactory(column -> {
 			TableCell<T, Date> cell = new TableCell<T, Date>() {
@@ -44,7 +81,7 @@ public class Utils {
 				@Override
 				protected void updateItem(Date item, boolean empty) {
 					super.updateItem(item, empty);
-					if (empty) {
+					if (empty || item == null) {
 						setText(null);
 					} else {
 						setText(sdf.format(item));
@@ -61,11 +98,14 @@ public class Utils {
 				@Override
 				protected void updateItem(Double item, boolean empty) {
 					super.updateItem(item, empty);
-					if (empty) {
+					if (empty || item == null) {
 						setText(null);
+					} else if (!Double.isFinite(item)) {
+						// BigDecimal has no NaN or Infinity, these print as String.format showed them
+						setText(item.toString());
 					} else {
-						Locale.setDefault(Locale.US);
-						setText(String.format("%." + decimalPlaces + "f", item));
+						// same text String.format("%.Nf") gave under Locale.US, without parsing a pattern or touching the default locale
+						setText(BigDecimal.valueOf(item).setScale(decimalPlaces, RoundingMode.HALF_UP).toPlainString());
 					}
 				}
 			};
@@ -0,0 +1,107 @@
+package gui.util;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+// Parsed FXML views kept for reuse. Entries are softly referenced, so the garbage collector may drop views
+// that are not on screen when memory gets tight; the next request simply parses the file again.
+public class ViewCache {
+
+	public static final class View<C> {
+
+		private final Parent root;
+		private final C controller;
+		private Stage dialogStage;
+
+		private View(Parent root, C controller) {
+			this.root = root;
+			this.controller = controller;
+		}
+
+		public Parent getRoot() {
+			return root;
+		}
+
+		public C getController() {
+			return controller;
+		}
+
+		// the stage is created on first use and shown again on later calls, with the same scene and controller
+		public Stage getDialogStage(String title, Window owner, boolean resizable) {
+			if (dialogStage == null || dialogStage.getOwner() != owner) {
+				if (dialogStage != null) {
+					// a node can only be the root of one scene
+					dialogStage.getScene().setRoot(new Group());
+				}
+				dialogStage = new Stage();
+				dialogStage.setScene(new Scene(root));
+				dialogStage.initOwner(owner);
+				dialogStage.initModality(Modality.WINDOW_MODAL);
+			}
+			dialogStage.setTitle(title);
+			dialogStage.setResizable(resizable);
+			return dialogStage;
+		}
+	}
+
+	private static final Logger LOGGER = Logger.getLogger(ViewCache.class.getName());
+
+	private static final ViewCache DEFAULT = new ViewCache();
+
+	// only touched on the FX thread: controllers bind to the main window while they are initialised
+	private final Map<String, SoftReference<View<?>>> views = new HashMap<>();
+
+	public static ViewCache getDefault() {
+		return DEFAULT;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <C> View<C> load(String absoluteName) throws IOException {
+		SoftReference<View<?>> ref = views.get(absoluteName);
+		View<?> view = ref == null ? null : ref.get();
+		if (view == null) {
+			views.values().removeIf(cleared -> cleared.get() == null);
+			FXMLLoader loader = new FXMLLoader(getClass().getResource(absoluteName));
+			Parent root = loader.load();
+			view = new View<>(root, loader.getController());
+			views.put(absoluteName, new SoftReference<>(view));
+		}
+		return (View<C>) view;
+	}
+
+	// parses one view per FX event so the window keeps responding to input while the cache fills
+	public void preload(List<String> absoluteNames) {
+		Iterator<String> names = List.copyOf(absoluteNames).iterator();
+		Platform.runLater(new Runnable() {
+			@Override
+			public void run() {
+				if (!names.hasNext()) {
+					return;
+				}
+				String name = names.next();
+				try {
+					load(name);
+				}
+				catch (IOException | RuntimeException e) {
+					LOGGER.log(Level.WARNING, "Could not preload view " + name, e);
+				}
+				Platform.runLater(this);
+			}
+		});
+	}
+}
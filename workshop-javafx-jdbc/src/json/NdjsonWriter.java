@@ -0,0 +1,102 @@
+package json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+public class NdjsonWriter implements Closeable, Flushable {
+
+	private final Writer out;
+	private final String[] prefixes;
+
+	public NdjsonWriter(Writer out, String... fieldNames) {
+		this.out = out;
+		prefixes = new String[fieldNames.length];
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < fieldNames.length; i++) {
+			sb.setLength(0);
+			sb.append(i == 0 ? '{' : ',');
+			appendString(sb, fieldNames[i]);
+			sb.append(':');
+			prefixes[i] = sb.toString();
+		}
+	}
+
+	public void writeRecord(Object... values) throws IOException {
+		if (values.length != prefixes.length) {
+			throw new IllegalArgumentException("Expected " + prefixes.length + " values but got " + values.length);
+		}
+		for (int i = 0; i < values.length; i++) {
+			out.write(prefixes[i]);
+			writeValue(values[i]);
+		}
+		out.write(prefixes.length == 0 ? "{}\n" : "}\n");
+	}
+
+	private void writeValue(Object value) throws IOException {
+		if (value == null) {
+			out.write("null");
+		} else if (value instanceof Number || value instanceof Boolean) {
+			String text = value.toString();
+			out.write(text.equals("NaN") || text.endsWith("Infinity") ? "null" : text);
+		} else {
+			writeString(value.toString());
+		}
+	}
+
+	private void writeString(String value) throws IOException {
+		out.write('"');
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\' || c < 0x20) {
+				out.write(value, start, i - start);
+				out.write(escape(c));
+				start = i + 1;
+			}
+		}
+		out.write(value, start, value.length() - start);
+		out.write('"');
+	}
+
+	private static void appendString(StringBuilder sb, String value) {
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\' || c < 0x20) {
+				sb.append(escape(c));
+			} else {
+				sb.append(c);
+			}
+		}
+		sb.append('"');
+	}
+
+	private static String escape(char c) {
+		switch (c) {
+		case '"':
+			return "\\\"";
+		case '\\':
+			return "\\\\";
+		case '\n':
+			return "\\n";
+		case '\r':
+			return "\\r";
+		case '\t':
+			return "\\t";
+		default:
+			return String.format("\\u%04x", (int) c);
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
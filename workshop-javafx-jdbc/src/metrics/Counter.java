@@ -0,0 +1,51 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter implements Metric {
+
+	private final String name;
+	private final String help;
+	private final String labels;
+	private final LongAdder value = new LongAdder();
+
+	public Counter(String name, String help, String labels) {
+		this.name = name;
+		this.help = help;
+		this.labels = labels;
+	}
+
+	public void increment() {
+		value.increment();
+	}
+
+	public void add(long amount) {
+		value.add(amount);
+	}
+
+	public long get() {
+		return value.sum();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getHelp() {
+		return help;
+	}
+
+	@Override
+	public String getType() {
+		return "counter";
+	}
+
+	@Override
+	public void writeSamples(Writer writer) throws IOException {
+		writer.write(name + (labels.isEmpty() ? "" : "{" + labels + "}") + " " + get() + "\n");
+	}
+}
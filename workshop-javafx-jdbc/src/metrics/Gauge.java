@@ -0,0 +1,44 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.DoubleSupplier;
+
+public class Gauge implements Metric {
+
+	private final String name;
+	private final String help;
+	private final String labels;
+	private final DoubleSupplier value;
+
+	public Gauge(String name, String help, String labels, DoubleSupplier value) {
+		this.name = name;
+		this.help = help;
+		this.labels = labels;
+		this.value = value;
+	}
+
+	public double get() {
+		return value.getAsDouble();
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getHelp() {
+		return help;
+	}
+
+	@Override
+	public String getType() {
+		return "gauge";
+	}
+
+	@Override
+	public void writeSamples(Writer writer) throws IOException {
+		writer.write(name + (labels.isEmpty() ? "" : "{" + labels + "}") + " " + get() + "\n");
+	}
+}
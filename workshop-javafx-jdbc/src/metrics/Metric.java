@@ -0,0 +1,12 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public interface Metric {
+
+	String getName();
+	String getHelp();
+	String getType();
+	void writeSamples(Writer writer) throws IOException;
+}
@@ -0,0 +1,71 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+public class MetricsRegistry {
+
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+	private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+	public static MetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	public LatencyHistogram histogram(String name, String help, String labels) {
+		return register(name, labels, LatencyHistogram.class, () -> new LatencyHistogram(name, help, labels));
+	}
+
+	public Counter counter(String name, String help, String labels) {
+		return register(name, labels, Counter.class, () -> new Counter(name, help, labels));
+	}
+
+	public Gauge gauge(String name, String help, String labels, DoubleSupplier value) {
+		Gauge gauge = new Gauge(name, help, labels, value);
+		metrics.put(key(name, labels), gauge);
+		return gauge;
+	}
+
+	public OperationMetrics operation(String prefix, String labels) {
+		return new OperationMetrics(
+				histogram(prefix + "_duration_seconds", "Operation latency in seconds", labels),
+				counter(prefix + "_errors_total", "Operations that threw an exception", labels),
+				counter(prefix + "_rows_total", "Rows read or written by the operation", labels));
+	}
+
+	private <M extends Metric> M register(String name, String labels, Class<M> type,
+			Supplier<M> factory) {
+		Metric metric = metrics.computeIfAbsent(key(name, labels), k -> factory.get());
+		if (!type.isInstance(metric)) {
+			throw new IllegalArgumentException("Metric " + name + " is already registered as " + metric.getType());
+		}
+		return type.cast(metric);
+	}
+
+	private static String key(String name, String labels) {
+		return name + "{" + labels + "}";
+	}
+
+	public void writePrometheus(Writer writer) throws IOException {
+		Map<String, List<Metric>> byName = new TreeMap<>();
+		for (Metric metric : new TreeMap<>(metrics).values()) {
+			byName.computeIfAbsent(metric.getName(), k -> new ArrayList<>()).add(metric);
+		}
+		for (List<Metric> family : byName.values()) {
+			Metric first = family.get(0);
+			writer.write("# HELP " + first.getName() + " " + first.getHelp() + "\n");
+			writer.write("# TYPE " + first.getName() + " " + first.getType() + "\n");
+			for (Metric metric : family) {
+				metric.writeSamples(writer);
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package metrics;
+
+public class OperationMetrics {
+
+	private final LatencyHistogram latency;
+	private final Counter errors;
+	private final Counter rows;
+
+	OperationMetrics(LatencyHistogram latency, Counter errors, Counter rows) {
+		this.latency = latency;
+		this.errors = errors;
+		this.rows = rows;
+	}
+
+	public void success(long startNanos, int rowCount) {
+		latency.recordNanos(System.nanoTime() - startNanos);
+		rows.add(rowCount);
+	}
+
+	public void failure(long startNanos) {
+		latency.recordNanos(System.nanoTime() - startNanos);
+		errors.increment();
+	}
+
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	public long getCallCount() {
+		return latency.getCount();
+	}
+
+	public long getErrorCount() {
+		return errors.get();
+	}
+
+	public long getRowCount() {
+		return rows.get();
+	}
+}
@@ -0,0 +1,123 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class PrometheusExporter {
+
+	private static final Logger LOGGER = Logger.getLogger(PrometheusExporter.class.getName());
+
+	private final MetricsRegistry registry;
+	private HttpServer server;
+	private ScheduledExecutorService scheduler;
+	private Path file;
+
+	public PrometheusExporter(MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	public static PrometheusExporter start(MetricsRegistry registry, Properties props) {
+		PrometheusExporter exporter = new PrometheusExporter(registry);
+		int port = Integer.parseInt(props.getProperty("metrics.port", "0"));
+		if (port > 0) {
+			exporter.serve(port);
+		}
+		String file = props.getProperty("metrics.file");
+		if (file != null && !file.trim().isEmpty()) {
+			long interval = Long.parseLong(props.getProperty("metrics.fileInterval", "15000"));
+			exporter.dumpPeriodically(Paths.get(file.trim()), interval);
+		}
+		return exporter;
+	}
+
+	public String scrape() {
+		StringWriter writer = new StringWriter();
+		try {
+			registry.writePrometheus(writer);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return writer.toString();
+	}
+
+	public void writeTo(Path path) throws IOException {
+		Path parent = path.toAbsolutePath().getParent();
+		Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+		try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+			registry.writePrometheus(writer);
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public synchronized void serve(int port) {
+		try {
+			server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+		}
+		catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Could not start metrics endpoint on port " + port, e);
+			return;
+		}
+		server.createContext("/metrics", exchange -> {
+			byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+			Thread t = new Thread(r, "metrics-endpoint");
+			t.setDaemon(true);
+			return t;
+		}));
+		server.start();
+	}
+
+	public synchronized void dumpPeriodically(Path path, long intervalMillis) {
+		file = path;
+		scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "metrics-file-writer");
+			t.setDaemon(true);
+			return t;
+		});
+		scheduler.scheduleWithFixedDelay(this::dump, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private void dump() {
+		try {
+			writeTo(file);
+		}
+		catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Could not write metrics to " + file, e);
+		}
+	}
+
+	public synchronized void stop() {
+		if (server != null) {
+			server.stop(0);
+			server = null;
+		}
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+			dump();
+		}
+	}
+}
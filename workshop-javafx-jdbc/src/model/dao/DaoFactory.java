@@ -1,16 +1,59 @@
 package model.dao;
 
+import java.util.Properties;
+
 import db.DB;
+import metrics.MetricsRegistry;
+import model.dao.impl.CachingDepartmentDao;
 import model.dao.impl.DepartmentDaoJDBC;
+import model.dao.impl.InstrumentedDepartmentDao;
+import model.dao.impl.InstrumentedSellerDao;
+import model.dao.impl.ReportDaoJDBC;
 import model.dao.impl.SellerDaoJDBC;
 
 public class DaoFactory {
 
+	private static DepartmentDao departmentDao = null;
+
 	public static SellerDao createSellerDao() {
-		return new SellerDaoJDBC(DB.getConnection());
+		SellerDao dao = new SellerDaoJDBC(DB.getConnectionPool());
+		return isMetricsEnabled() ? new InstrumentedSellerDao(dao, MetricsRegistry.getDefault()) : dao;
 	}
 	
-	public static DepartmentDao createDepartmentDao() {
-		return new DepartmentDaoJDBC(DB.getConnection());
+	public static synchronized DepartmentDao createDepartmentDao() {
+		if (departmentDao == null) {
+			Properties props = DB.getProperties();
+			long ttl = Long.parseLong(props.getProperty("cache.department.ttl", "0"));
+			int maxSize = Integer.parseInt(props.getProperty("cache.department.maxSize", "1000"));
+			DepartmentDao dao = new DepartmentDaoJDBC(DB.getConnectionPool());
+			if (ttl > 0) {
+				CachingDepartmentDao cache = new CachingDepartmentDao(dao, ttl, maxSize);
+				if (isMetricsEnabled()) {
+					registerCacheMetrics(cache);
+				}
+				dao = cache;
+			}
+			if (isMetricsEnabled()) {
+				dao = new InstrumentedDepartmentDao(dao, MetricsRegistry.getDefault());
+			}
+			departmentDao = dao;
+		}
+		return departmentDao;
+	}
+
+	private static void registerCacheMetrics(CachingDepartmentDao cache) {
+		MetricsRegistry registry = MetricsRegistry.getDefault();
+		registry.gauge("dao_cache_hits", "Department lookups answered from the cache", "cache=\"department\"",
+				cache::getHitCount);
+		registry.gauge("dao_cache_misses", "Department lookups that went to the database", "cache=\"department\"",
+				cache::getMissCount);
+	}
+
+	public static ReportDao createReportDao() {
+		return new ReportDaoJDBC(DB.getConnectionPool());
+	}
+
+	private static boolean isMetricsEnabled() {
+		return Boolean.parseBoolean(DB.getProperties().getProperty("metrics.enabled", "true"));
 	}
 }
@@ -1,5 +1,6 @@
 package model.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import model.entities.Department;
@@ -8,7 +9,10 @@ public interface DepartmentDao {
 
 	void insert(Department obj);
 	void update(Department obj);
+	void insertAll(Collection<Department> list, int batchSize);
+	void updateAll(Collection<Department> list, int batchSize);
 	void deleteById(Integer id);
+	void deleteByIds(Collection<Integer> ids);
 	Department findById(Integer id);
 	List<Department> findAll();
 }
@@ -0,0 +1,10 @@
+package model.dao;
+
+import java.util.List;
+
+import model.entities.DepartmentPayroll;
+
+public interface ReportDao {
+
+	List<DepartmentPayroll> findDepartmentPayroll(boolean includeTotal);
+}
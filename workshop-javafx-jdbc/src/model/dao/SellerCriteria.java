@@ -0,0 +1,122 @@
+package model.dao;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class SellerCriteria {
+
+	public static final int DEFAULT_LIMIT = 500;
+
+	private String namePrefix;
+	private String emailPrefix;
+	private Double minBaseSalary;
+	private Double maxBaseSalary;
+	private Date birthDateFrom;
+	private Date birthDateBefore;
+	private Set<Integer> departmentIds = new LinkedHashSet<>();
+	private int limit = DEFAULT_LIMIT;
+	private SellerSortKey sortKey = SellerSortKey.NAME;
+	private boolean ascending = true;
+
+	public String getNamePrefix() {
+		return namePrefix;
+	}
+
+	public void setNamePrefix(String namePrefix) {
+		this.namePrefix = namePrefix;
+	}
+
+	public String getEmailPrefix() {
+		return emailPrefix;
+	}
+
+	public void setEmailPrefix(String emailPrefix) {
+		this.emailPrefix = emailPrefix;
+	}
+
+	public Double getMinBaseSalary() {
+		return minBaseSalary;
+	}
+
+	public void setMinBaseSalary(Double minBaseSalary) {
+		this.minBaseSalary = minBaseSalary;
+	}
+
+	public Double getMaxBaseSalary() {
+		return maxBaseSalary;
+	}
+
+	public void setMaxBaseSalary(Double maxBaseSalary) {
+		this.maxBaseSalary = maxBaseSalary;
+	}
+
+	public Date getBirthDateFrom() {
+		return birthDateFrom;
+	}
+
+	public void setBirthDateFrom(Date birthDateFrom) {
+		this.birthDateFrom = birthDateFrom;
+	}
+
+	public Date getBirthDateBefore() {
+		return birthDateBefore;
+	}
+
+	public void setBirthDateBefore(Date birthDateBefore) {
+		this.birthDateBefore = birthDateBefore;
+	}
+
+	public Set<Integer> getDepartmentIds() {
+		return Collections.unmodifiableSet(departmentIds);
+	}
+
+	public void setDepartmentIds(Set<Integer> departmentIds) {
+		this.departmentIds = new LinkedHashSet<>(departmentIds);
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public void setLimit(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("Limit must be positive");
+		}
+		this.limit = limit;
+	}
+
+	public SellerSortKey getSortKey() {
+		return sortKey;
+	}
+
+	public boolean isAscending() {
+		return ascending;
+	}
+
+	public void setSort(SellerSortKey sortKey, boolean ascending) {
+		if (sortKey == null) {
+			throw new IllegalArgumentException("Sort key must not be null");
+		}
+		this.sortKey = sortKey;
+		this.ascending = ascending;
+	}
+
+	public boolean isEmpty() {
+		return isBlank(namePrefix) && isBlank(emailPrefix) && minBaseSalary == null && maxBaseSalary == null
+				&& birthDateFrom == null && birthDateBefore == null && departmentIds.isEmpty();
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.trim().isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "SellerCriteria [namePrefix=" + namePrefix + ", emailPrefix=" + emailPrefix + ", minBaseSalary="
+				+ minBaseSalary + ", maxBaseSalary=" + maxBaseSalary + ", birthDateFrom=" + birthDateFrom
+				+ ", birthDateBefore=" + birthDateBefore + ", departmentIds=" + departmentIds + ", limit=" + limit
+				+ ", sortKey=" + sortKey + ", ascending=" + ascending + "]";
+	}
+}
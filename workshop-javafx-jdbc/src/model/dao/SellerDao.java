@@ -1,6 +1,12 @@
 package model.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 import model.entities.Department;
 import model.entities.Seller;
@@ -9,8 +15,21 @@ public interface SellerDao {
 
 	void insert(Seller obj);
 	void update(Seller obj);
+	void insertAll(Collection<Seller> list, int batchSize);
+	void bulkInsert(Collection<Seller> list, int rowsPerStatement);
+	void updateAll(Collection<Seller> list, int batchSize);
+	void applyChanges(Collection<Seller> inserts, Map<Seller, Set<SellerField>> updates, int batchSize);
 	void deleteById(Integer id);
+	void deleteByIds(Collection<Integer> ids);
 	Seller findById(Integer id);
 	List<Seller> findAll();
 	List<Seller> findByDepartment(Department department);
+	List<Seller> findByCriteria(SellerCriteria criteria);
+	int countByCriteria(SellerCriteria criteria);
+	List<Seller> findRange(SellerCriteria criteria, int offset, int limit);
+	List<Seller> findPage(String afterName, Integer afterId, int limit);
+	List<Seller> findPageByDepartment(Department department, String afterName, Integer afterId, int limit);
+	Stream<Seller> streamAll(int fetchSize);
+	Stream<Seller> streamAll(int fetchSize, Map<Integer, Department> departments);
+	Flow.Publisher<Seller> publishAll(int fetchSize, Executor executor);
 }
@@ -0,0 +1,20 @@
+package model.dao;
+
+public enum SellerField {
+
+	NAME("Name"),
+	EMAIL("Email"),
+	BIRTH_DATE("BirthDate"),
+	BASE_SALARY("BaseSalary"),
+	DEPARTMENT("DepartmentId");
+
+	private final String column;
+
+	private SellerField(String column) {
+		this.column = column;
+	}
+
+	public String getColumn() {
+		return column;
+	}
+}
@@ -0,0 +1,20 @@
+package model.dao;
+
+public enum SellerSortKey {
+
+	ID("Id"),
+	NAME("Name"),
+	EMAIL("Email"),
+	BIRTH_DATE("BirthDate"),
+	BASE_SALARY("BaseSalary");
+
+	private final String column;
+
+	private SellerSortKey(String column) {
+		this.column = column;
+	}
+
+	public String getColumn() {
+		return column;
+	}
+}
@@ -0,0 +1,221 @@
+package model.dao.impl;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import db.ConnectionProvider;
+import db.DB;
+import db.DbBatchException;
+import db.DbException;
+
+class BatchWriter {
+
+	interface ParameterSetter<T> {
+		void setParameters(PreparedStatement st, T obj) throws SQLException;
+	}
+
+	interface RowSetter<T> {
+		void setRow(PreparedStatement st, int offset, T obj) throws SQLException;
+	}
+
+	static <T> void write(ConnectionProvider provider, String sql, Collection<T> list, int batchSize,
+			ParameterSetter<T> setter, BiConsumer<T, Integer> keyAssigner) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		if (list.isEmpty()) {
+			return;
+		}
+		Connection conn = null;
+		PreparedStatement st = null;
+		try {
+			conn = provider.getConnection();
+			conn.setAutoCommit(false);
+			st = keyAssigner == null ? conn.prepareStatement(sql)
+					: conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+
+			try {
+				DbBatchException exception = new DbBatchException("Batch failed, no rows were written");
+				executeChunks(st, list, batchSize, 0, setter, keyAssigner, exception);
+				if (exception.getErrors().size() > 0) {
+					throw exception;
+				}
+				conn.commit();
+			}
+			catch (SQLException | RuntimeException e) {
+				// earlier chunks may already have handed out ids for rows that are not committed now
+				rollback(conn, e);
+				resetKeys(list, keyAssigner);
+				throw e;
+			}
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		}
+	}
+
+	static void rollback(Connection conn, Exception cause) {
+		try {
+			conn.rollback();
+		}
+		catch (SQLException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	static <T> void resetKeys(Collection<T> list, BiConsumer<T, Integer> keyAssigner) {
+		if (keyAssigner != null) {
+			for (T obj : list) {
+				keyAssigner.accept(obj, null);
+			}
+		}
+	}
+
+	static <T> void insertRows(Connection conn, String sqlPrefix, String rowValues, int columns, Collection<T> list,
+			int rowsPerStatement, RowSetter<T> setter) throws SQLException {
+		if (rowsPerStatement < 1) {
+			throw new IllegalArgumentException("Rows per statement must be positive");
+		}
+		int size = list.size();
+		int fullRows = Math.min(rowsPerStatement, size);
+		PreparedStatement st = null;
+		try {
+			int row = 0;
+			int remaining = size;
+			for (T obj : list) {
+				if (row == 0) {
+					int rows = remaining < fullRows ? remaining : fullRows;
+					if (st == null || rows != fullRows) {
+						DB.closeStatement(st);
+						st = conn.prepareStatement(valuesSql(sqlPrefix, rowValues, rows));
+					}
+				}
+				setter.setRow(st, row * columns, obj);
+				remaining--;
+				if (++row == fullRows || remaining == 0) {
+					st.executeUpdate();
+					row = 0;
+				}
+			}
+		}
+		finally {
+			DB.closeStatement(st);
+		}
+	}
+
+	private static String valuesSql(String sqlPrefix, String rowValues, int rows) {
+		StringBuilder sql = new StringBuilder(sqlPrefix.length() + rows * (rowValues.length() + 2));
+		sql.append(sqlPrefix);
+		for (int i = 0; i < rows; i++) {
+			sql.append(i == 0 ? "" : ", ").append(rowValues);
+		}
+		return sql.toString();
+	}
+
+	static boolean isDataError(SQLException e) {
+		String state = e.getSQLState();
+		return state != null && (state.startsWith("22") || state.startsWith("23"));
+	}
+
+	static void deleteIn(Connection conn, String table, Collection<Integer> ids, int chunkSize) throws SQLException {
+		List<Integer> chunk = new ArrayList<>(Math.min(chunkSize, ids.size()));
+		for (Integer id : ids) {
+			chunk.add(id);
+			if (chunk.size() == chunkSize) {
+				deleteChunk(conn, table, chunk, chunkSize);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			deleteChunk(conn, table, chunk, chunkSize);
+		}
+	}
+
+	// the remainder is padded with its last id up to 1, 10, 100, ... placeholders, so a table only ever needs a few
+	// statement shapes in the statement cache instead of one per selection size
+	private static void deleteChunk(Connection conn, String table, List<Integer> chunk, int chunkSize)
+			throws SQLException {
+		int placeholders = bucketSize(chunk.size(), chunkSize);
+		StringBuilder sql = new StringBuilder("DELETE FROM ").append(table).append(" WHERE Id IN (");
+		for (int i = 0; i < placeholders; i++) {
+			sql.append(i == 0 ? "?" : ", ?");
+		}
+		sql.append(")");
+		PreparedStatement st = conn.prepareStatement(sql.toString());
+		try {
+			Integer last = chunk.get(chunk.size() - 1);
+			for (int i = 0; i < placeholders; i++) {
+				st.setInt(i + 1, i < chunk.size() ? chunk.get(i) : last);
+			}
+			st.executeUpdate();
+		}
+		finally {
+			DB.closeStatement(st);
+		}
+	}
+
+	private static int bucketSize(int size, int chunkSize) {
+		int bucket = 1;
+		while (bucket < size) {
+			bucket *= 10;
+		}
+		return Math.min(bucket, chunkSize);
+	}
+
+	static <T> int executeChunks(PreparedStatement st, Collection<T> list, int batchSize, int firstChunk,
+			ParameterSetter<T> setter, BiConsumer<T, Integer> keyAssigner, DbBatchException exception)
+			throws SQLException {
+		List<T> chunk = new ArrayList<>(Math.min(batchSize, list.size()));
+		int chunkIndex = firstChunk;
+		for (T obj : list) {
+			setter.setParameters(st, obj);
+			st.addBatch();
+			chunk.add(obj);
+			if (chunk.size() == batchSize) {
+				executeChunk(st, chunk, chunkIndex++, batchSize, keyAssigner, exception);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			executeChunk(st, chunk, chunkIndex++, batchSize, keyAssigner, exception);
+		}
+		return chunkIndex;
+	}
+
+	private static <T> void executeChunk(PreparedStatement st, List<T> chunk, int chunkIndex, int batchSize,
+			BiConsumer<T, Integer> keyAssigner, DbBatchException exception) throws SQLException {
+		ResultSet rs = null;
+		try {
+			st.executeBatch();
+			if (keyAssigner != null) {
+				rs = st.getGeneratedKeys();
+				for (T obj : chunk) {
+					if (!rs.next()) {
+						throw new DbException("Unexpected error! Missing generated key!");
+					}
+					keyAssigner.accept(obj, rs.getInt(1));
+				}
+			}
+		}
+		catch (BatchUpdateException e) {
+			int first = chunkIndex * batchSize;
+			exception.addError(chunkIndex, "rows " + first + "-" + (first + chunk.size() - 1) + ": " + e.getMessage());
+			st.clearBatch();
+		}
+		finally {
+			DB.closeResultSet(rs);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package model.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.dao.DepartmentDao;
+import model.entities.Department;
+
+public class CachingDepartmentDao implements DepartmentDao {
+
+	private final DepartmentDao dao;
+	private final long ttlNanos;
+	private final Map<Integer, CacheEntry<Department>> byId;
+	private CacheEntry<List<Department>> all;
+	private long generation;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public CachingDepartmentDao(DepartmentDao dao, long ttlMillis, int maxSize) {
+		this.dao = dao;
+		this.ttlNanos = ttlMillis * 1_000_000L;
+		this.byId = new LinkedHashMap<Integer, CacheEntry<Department>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, CacheEntry<Department>> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	@Override
+	public Department findById(Integer id) {
+		long loadGeneration;
+		synchronized (this) {
+			CacheEntry<Department> entry = byId.get(id);
+			if (entry != null && !entry.isExpired()) {
+				hits.increment();
+				return copy(entry.value);
+			}
+			misses.increment();
+			loadGeneration = generation;
+		}
+		Department obj = dao.findById(id);
+		if (obj != null) {
+			synchronized (this) {
+				if (loadGeneration == generation) {
+					byId.put(id, new CacheEntry<>(copy(obj)));
+				}
+			}
+		}
+		return obj;
+	}
+
+	@Override
+	public List<Department> findAll() {
+		long loadGeneration;
+		synchronized (this) {
+			if (all != null && !all.isExpired()) {
+				hits.increment();
+				return copyAll(all.value);
+			}
+			misses.increment();
+			loadGeneration = generation;
+		}
+		List<Department> list = dao.findAll();
+		synchronized (this) {
+			if (loadGeneration == generation) {
+				List<Department> cached = copyAll(list);
+				all = new CacheEntry<>(cached);
+				for (Department obj : cached) {
+					byId.put(obj.getId(), new CacheEntry<>(obj));
+				}
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public void insert(Department obj) {
+		try {
+			dao.insert(obj);
+		}
+		finally {
+			invalidate(null);
+		}
+	}
+
+	@Override
+	public void update(Department obj) {
+		try {
+			dao.update(obj);
+		}
+		finally {
+			invalidate(obj.getId());
+		}
+	}
+
+	@Override
+	public void insertAll(Collection<Department> list, int batchSize) {
+		try {
+			dao.insertAll(list, batchSize);
+		}
+		finally {
+			invalidate(null);
+		}
+	}
+
+	@Override
+	public void updateAll(Collection<Department> list, int batchSize) {
+		try {
+			dao.updateAll(list, batchSize);
+		}
+		finally {
+			invalidateAll();
+		}
+	}
+
+	@Override
+	public void deleteById(Integer id) {
+		try {
+			dao.deleteById(id);
+		}
+		finally {
+			invalidate(id);
+		}
+	}
+
+	@Override
+	public void deleteByIds(Collection<Integer> ids) {
+		try {
+			dao.deleteByIds(ids);
+		}
+		finally {
+			invalidateAll();
+		}
+	}
+
+	private synchronized void invalidate(Integer id) {
+		generation++;
+		all = null;
+		if (id != null) {
+			byId.remove(id);
+		}
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		all = null;
+		byId.clear();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private static Department copy(Department obj) {
+		return new Department(obj.getId(), obj.getName());
+	}
+
+	private static List<Department> copyAll(List<Department> list) {
+		List<Department> copies = new ArrayList<>(list.size());
+		for (Department obj : list) {
+			copies.add(copy(obj));
+		}
+		return copies;
+	}
+
+	private class CacheEntry<V> {
+
+		private final V value;
+		private final long loadedAt = System.nanoTime();
+
+		CacheEntry(V value) {
+			this.value = value;
+		}
+
+		boolean isExpired() {
+			return System.nanoTime() - loadedAt > ttlNanos;
+		}
+	}
+}
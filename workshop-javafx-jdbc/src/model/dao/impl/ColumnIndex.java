@@ -0,0 +1,28 @@
+package model.dao.impl;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+class ColumnIndex {
+
+	private final Map<String, Integer> indexes = new HashMap<>();
+
+	ColumnIndex(ResultSet rs) throws SQLException {
+		ResultSetMetaData metaData = rs.getMetaData();
+		for (int i = 1; i <= metaData.getColumnCount(); i++) {
+			indexes.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+		}
+	}
+
+	int get(String label) throws SQLException {
+		Integer index = indexes.get(label.toLowerCase(Locale.ROOT));
+		if (index == null) {
+			throw new SQLException("Column not found in result set: " + label);
+		}
+		return index;
+	}
+}
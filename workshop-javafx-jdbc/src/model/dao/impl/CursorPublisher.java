@@ -0,0 +1,118 @@
+package model.dao.impl;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+class CursorPublisher<T> implements Flow.Publisher<T> {
+
+	private final Supplier<Stream<T>> source;
+	private final Executor executor;
+
+	CursorPublisher(Supplier<Stream<T>> source, Executor executor) {
+		this.source = source;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		subscriber.onSubscribe(new CursorSubscription(subscriber));
+	}
+
+	private class CursorSubscription implements Flow.Subscription {
+
+		private final Flow.Subscriber<? super T> subscriber;
+		private final AtomicLong demand = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile boolean cancelled;
+		private volatile Throwable invalidRequest;
+		private Stream<T> stream;
+		private Iterator<T> iterator;
+		private boolean done;
+
+		CursorSubscription(Flow.Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("Requested " + n + " items, demand must be positive");
+			}
+			else {
+				demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (wip.getAndIncrement() == 0) {
+				executor.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			int missed = 1;
+			do {
+				if (done) {
+					return;
+				}
+				if (cancelled) {
+					finish();
+					return;
+				}
+				if (invalidRequest != null) {
+					finish();
+					subscriber.onError(invalidRequest);
+					return;
+				}
+				long requested = demand.get();
+				long emitted = 0;
+				try {
+					if (requested > 0 && iterator == null) {
+						stream = source.get();
+						iterator = stream.iterator();
+					}
+					while (emitted != requested && !cancelled) {
+						if (!iterator.hasNext()) {
+							finish();
+							subscriber.onComplete();
+							return;
+						}
+						subscriber.onNext(iterator.next());
+						emitted++;
+					}
+				}
+				catch (RuntimeException e) {
+					finish();
+					subscriber.onError(e);
+					return;
+				}
+				if (emitted > 0 && requested != Long.MAX_VALUE) {
+					demand.addAndGet(-emitted);
+				}
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void finish() {
+			done = true;
+			if (stream != null) {
+				stream.close();
+				stream = null;
+				iterator = null;
+			}
+		}
+	}
+}
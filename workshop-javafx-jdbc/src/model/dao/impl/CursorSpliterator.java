@@ -0,0 +1,48 @@
+package model.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import db.DB;
+import db.DbException;
+
+class CursorSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+	private final ResultSet rs;
+	private final RowMapper<T> mapper;
+
+	private CursorSpliterator(ResultSet rs, RowMapper<T> mapper) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		this.rs = rs;
+		this.mapper = mapper;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		try {
+			if (!rs.next()) {
+				return false;
+			}
+			action.accept(mapper.mapRow(rs));
+			return true;
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+	}
+
+	static <T> Stream<T> stream(Connection conn, PreparedStatement st, ResultSet rs, RowMapper<T> mapper) {
+		return StreamSupport.stream(new CursorSpliterator<>(rs, mapper), false).onClose(() -> {
+			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		});
+	}
+}
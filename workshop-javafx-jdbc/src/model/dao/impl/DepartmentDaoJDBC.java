@@ -5,9 +5,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
+import db.ConnectionProvider;
 import db.DB;
 import db.DbException;
 import db.DbIntegrityException;
@@ -16,76 +17,77 @@ import model.entities.Department;
 
 public class DepartmentDaoJDBC implements DepartmentDao {
 
-	private Connection conn;
+	private static final String INSERT_SQL =
+			"INSERT INTO department " +
+			"(Name) " +
+			"VALUES " +
+			"(?)";
+
+	private static final String UPDATE_SQL =
+			"UPDATE department " +
+			"SET Name = ? " +
+			"WHERE Id = ?";
+
+	private static final int DELETE_CHUNK_SIZE = 1000;
+
+	private ConnectionProvider provider;
 	
-	public DepartmentDaoJDBC(Connection conn) {
-		this.conn = conn;
+	public DepartmentDaoJDBC(ConnectionProvider provider) {
+		this.provider = provider;
 	}
 	
 	@Override
 	public Department findById(Integer id) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		ResultSet rs = null;
 		try {
+			conn = provider.getConnection();
 			st = conn.prepareStatement(
 				"SELECT * FROM department WHERE Id = ?");
 			st.setInt(1, id);
 			rs = st.executeQuery();
-			if (rs.next()) {
-				Department obj = new Department();
-				obj.setId(rs.getInt("Id"));
-				obj.setName(rs.getString("Name"));
-				return obj;
-			}
-			return null;
+			return RowMapper.mapFirst(rs, DepartmentRowMapper::new);
 		}
 		catch (SQLException e) {
 			throw new DbException(e.getMessage());
 		}
 		finally {
-			DB.closeStatement(st);
 			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
 	@Override
 	public List<Department> findAll() {
+		Connection conn = null;
 		PreparedStatement st = null;
 		ResultSet rs = null;
 		try {
+			conn = provider.getConnection();
 			st = conn.prepareStatement(
 				"SELECT * FROM department ORDER BY Name");
 			rs = st.executeQuery();
-
-			List<Department> list = new ArrayList<>();
-
-			while (rs.next()) {
-				Department obj = new Department();
-				obj.setId(rs.getInt("Id"));
-				obj.setName(rs.getString("Name"));
-				list.add(obj);
-			}
-			return list;
+			return RowMapper.mapAll(rs, DepartmentRowMapper::new);
 		}
 		catch (SQLException e) {
 			throw new DbException(e.getMessage());
 		}
 		finally {
-			DB.closeStatement(st);
 			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
 	@Override
 	public void insert(Department obj) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		try {
-			st = conn.prepareStatement(
-				"INSERT INTO department " +
-				"(Name) " +
-				"VALUES " +
-				"(?)", 
-				Statement.RETURN_GENERATED_KEYS);
+			conn = provider.getConnection();
+			st = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
 
 			st.setString(1, obj.getName());
 
@@ -97,6 +99,7 @@ public class DepartmentDaoJDBC implements DepartmentDao {
 					int id = rs.getInt(1);
 					obj.setId(id);
 				}
+				DB.closeResultSet(rs);
 			}
 			else {
 				throw new DbException("Unexpected error! No rows affected!");
@@ -107,17 +110,17 @@ public class DepartmentDaoJDBC implements DepartmentDao {
 		} 
 		finally {
 			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
 	@Override
 	public void update(Department obj) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		try {
-			st = conn.prepareStatement(
-				"UPDATE department " +
-				"SET Name = ? " +
-				"WHERE Id = ?");
+			conn = provider.getConnection();
+			st = conn.prepareStatement(UPDATE_SQL);
 
 			st.setString(1, obj.getName());
 			st.setInt(2, obj.getId());
@@ -129,13 +132,30 @@ public class DepartmentDaoJDBC implements DepartmentDao {
 		} 
 		finally {
 			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
+	@Override
+	public void insertAll(Collection<Department> list, int batchSize) {
+		BatchWriter.write(provider, INSERT_SQL, list, batchSize, (st, obj) -> st.setString(1, obj.getName()),
+				Department::setId);
+	}
+
+	@Override
+	public void updateAll(Collection<Department> list, int batchSize) {
+		BatchWriter.write(provider, UPDATE_SQL, list, batchSize, (st, obj) -> {
+			st.setString(1, obj.getName());
+			st.setInt(2, obj.getId());
+		}, null);
+	}
+
 	@Override
 	public void deleteById(Integer id) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		try {
+			conn = provider.getConnection();
 			st = conn.prepareStatement(
 				"DELETE FROM department WHERE Id = ?");
 
@@ -148,6 +168,29 @@ public class DepartmentDaoJDBC implements DepartmentDao {
 		} 
 		finally {
 			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		}
+	}
+
+	@Override
+	public void deleteByIds(Collection<Integer> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		Connection conn = null;
+		try {
+			conn = provider.getConnection();
+			conn.setAutoCommit(false);
+			
+			BatchWriter.deleteIn(conn, "department", ids, DELETE_CHUNK_SIZE);
+			
+			conn.commit();
+		}
+		catch (SQLException e) {
+			throw new DbIntegrityException(e.getMessage());
+		}
+		finally {
+			DB.closeConnection(conn);
 		}
 	}
 }
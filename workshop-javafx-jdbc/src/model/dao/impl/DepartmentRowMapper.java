@@ -0,0 +1,33 @@
+package model.dao.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import model.entities.Department;
+
+public class DepartmentRowMapper implements RowMapper<Department> {
+
+	private final int id;
+	private final int name;
+
+	public DepartmentRowMapper(ResultSet rs) throws SQLException {
+		this(new ColumnIndex(rs), "Id", "Name");
+	}
+
+	DepartmentRowMapper(ColumnIndex columns, String idLabel, String nameLabel) throws SQLException {
+		id = columns.get(idLabel);
+		name = columns.get(nameLabel);
+	}
+
+	int getId(ResultSet rs) throws SQLException {
+		return rs.getInt(id);
+	}
+
+	@Override
+	public Department mapRow(ResultSet rs) throws SQLException {
+		Department obj = new Department();
+		obj.setId(rs.getInt(id));
+		obj.setName(rs.getString(name));
+		return obj;
+	}
+}
@@ -0,0 +1,114 @@
+package model.dao.impl;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import metrics.OperationMetrics;
+
+// Records a lazy read once it is over rather than when it is created: the latency runs until the last row, the
+// end of the stream or its close, and a failure while reading the cursor is counted as one.
+class InstrumentedCursor {
+
+	static <T> Stream<T> stream(Stream<T> stream, OperationMetrics metrics, long startNanos) {
+		Recorder recorder = new Recorder(metrics, startNanos);
+		Spliterator<T> source = stream.spliterator();
+		Spliterator<T> counting = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, source.characteristics()) {
+			private boolean inAction;
+
+			@Override
+			public boolean tryAdvance(Consumer<? super T> action) {
+				try {
+					boolean advanced = source.tryAdvance(item -> {
+						recorder.rows++;
+						inAction = true;
+						action.accept(item);
+						inAction = false;
+					});
+					if (!advanced) {
+						recorder.success();
+					}
+					return advanced;
+				}
+				catch (RuntimeException e) {
+					// an exception from the caller's own action is not a failed read
+					if (!inAction) {
+						recorder.failure();
+					}
+					throw e;
+				}
+			}
+		};
+		return StreamSupport.stream(counting, false).onClose(stream::close).onClose(recorder::success);
+	}
+
+	static <T> Flow.Publisher<T> publisher(Flow.Publisher<T> publisher, OperationMetrics metrics) {
+		return subscriber -> {
+			Recorder recorder = new Recorder(metrics, System.nanoTime());
+			publisher.subscribe(new Flow.Subscriber<T>() {
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					subscriber.onSubscribe(new Flow.Subscription() {
+						@Override
+						public void request(long n) {
+							subscription.request(n);
+						}
+
+						@Override
+						public void cancel() {
+							subscription.cancel();
+							recorder.success();
+						}
+					});
+				}
+
+				@Override
+				public void onNext(T item) {
+					recorder.rows++;
+					subscriber.onNext(item);
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+					recorder.failure();
+					subscriber.onError(throwable);
+				}
+
+				@Override
+				public void onComplete() {
+					recorder.success();
+					subscriber.onComplete();
+				}
+			});
+		};
+	}
+
+	private static class Recorder {
+
+		private final OperationMetrics metrics;
+		private final long startNanos;
+		private final AtomicBoolean recorded = new AtomicBoolean();
+		volatile int rows;
+
+		Recorder(OperationMetrics metrics, long startNanos) {
+			this.metrics = metrics;
+			this.startNanos = startNanos;
+		}
+
+		void success() {
+			if (recorded.compareAndSet(false, true)) {
+				metrics.success(startNanos, rows);
+			}
+		}
+
+		void failure() {
+			if (recorded.compareAndSet(false, true)) {
+				metrics.failure(startNanos);
+			}
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package model.dao.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import metrics.MetricsRegistry;
+import metrics.OperationMetrics;
+import model.dao.DepartmentDao;
+import model.entities.Department;
+
+public class InstrumentedDepartmentDao implements DepartmentDao {
+
+	private static final String PREFIX = "dao_operation";
+
+	private final DepartmentDao dao;
+
+	private final OperationMetrics insert;
+	private final OperationMetrics update;
+	private final OperationMetrics insertAll;
+	private final OperationMetrics updateAll;
+	private final OperationMetrics deleteById;
+	private final OperationMetrics deleteByIds;
+	private final OperationMetrics findById;
+	private final OperationMetrics findAll;
+
+	public InstrumentedDepartmentDao(DepartmentDao dao, MetricsRegistry registry) {
+		this.dao = dao;
+		insert = registry.operation(PREFIX, labels("insert"));
+		update = registry.operation(PREFIX, labels("update"));
+		insertAll = registry.operation(PREFIX, labels("insertAll"));
+		updateAll = registry.operation(PREFIX, labels("updateAll"));
+		deleteById = registry.operation(PREFIX, labels("deleteById"));
+		deleteByIds = registry.operation(PREFIX, labels("deleteByIds"));
+		findById = registry.operation(PREFIX, labels("findById"));
+		findAll = registry.operation(PREFIX, labels("findAll"));
+	}
+
+	private static String labels(String method) {
+		return "dao=\"department\",method=\"" + method + "\"";
+	}
+
+	@Override
+	public void insert(Department obj) {
+		long start = System.nanoTime();
+		try {
+			dao.insert(obj);
+			insert.success(start, 1);
+		}
+		catch (RuntimeException e) {
+			insert.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void update(Department obj) {
+		long start = System.nanoTime();
+		try {
+			dao.update(obj);
+			update.success(start, 1);
+		}
+		catch (RuntimeException e) {
+			update.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void insertAll(Collection<Department> list, int batchSize) {
+		long start = System.nanoTime();
+		try {
+			dao.insertAll(list, batchSize);
+			insertAll.success(start, list.size());
+		}
+		catch (RuntimeException e) {
+			insertAll.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void updateAll(Collection<Department> list, int batchSize) {
+		long start = System.nanoTime();
+		try {
+			dao.updateAll(list, batchSize);
+			updateAll.success(start, list.size());
+		}
+		catch (RuntimeException e) {
+			updateAll.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void deleteById(Integer id) {
+		long start = System.nanoTime();
+		try {
+			dao.deleteById(id);
+			deleteById.success(start, 1);
+		}
+		catch (RuntimeException e) {
+			deleteById.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void deleteByIds(Collection<Integer> ids) {
+		long start = System.nanoTime();
+		try {
+			dao.deleteByIds(ids);
+			deleteByIds.success(start, ids.size());
+		}
+		catch (RuntimeException e) {
+			deleteByIds.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public Department findById(Integer id) {
+		long start = System.nanoTime();
+		try {
+			Department obj = dao.findById(id);
+			findById.success(start, obj == null ? 0 : 1);
+			return obj;
+		}
+		catch (RuntimeException e) {
+			findById.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public List<Department> findAll() {
+		long start = System.nanoTime();
+		try {
+			List<Department> list = dao.findAll();
+			findAll.success(start, list.size());
+			return list;
+		}
+		catch (RuntimeException e) {
+			findAll.failure(start);
+			throw e;
+		}
+	}
+}
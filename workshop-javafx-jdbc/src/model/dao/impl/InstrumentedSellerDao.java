@@ -0,0 +1,314 @@
+package model.dao.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+
+import metrics.MetricsRegistry;
+import metrics.OperationMetrics;
+import model.dao.SellerCriteria;
+import model.dao.SellerDao;
+import model.dao.SellerField;
+import model.entities.Department;
+import model.entities.Seller;
+
+public class InstrumentedSellerDao implements SellerDao {
+
+	private static final String PREFIX = "dao_operation";
+
+	private final SellerDao dao;
+
+	private final OperationMetrics insert;
+	private final OperationMetrics update;
+	private final OperationMetrics insertAll;
+	private final OperationMetrics bulkInsert;
+	private final OperationMetrics updateAll;
+	private final OperationMetrics applyChanges;
+	private final OperationMetrics deleteById;
+	private final OperationMetrics deleteByIds;
+	private final OperationMetrics findById;
+	private final OperationMetrics findAll;
+	private final OperationMetrics findByDepartment;
+	private final OperationMetrics findByCriteria;
+	private final OperationMetrics countByCriteria;
+	private final OperationMetrics findRange;
+	private final OperationMetrics findPage;
+	private final OperationMetrics findPageByDepartment;
+	private final OperationMetrics streamAll;
+	private final OperationMetrics publishAll;
+
+	public InstrumentedSellerDao(SellerDao dao, MetricsRegistry registry) {
+		this.dao = dao;
+		insert = registry.operation(PREFIX, labels("insert"));
+		update = registry.operation(PREFIX, labels("update"));
+		insertAll = registry.operation(PREFIX, labels("insertAll"));
+		bulkInsert = registry.operation(PREFIX, labels("bulkInsert"));
+		updateAll = registry.operation(PREFIX, labels("updateAll"));
+		applyChanges = registry.operation(PREFIX, labels("applyChanges"));
+		deleteById = registry.operation(PREFIX, labels("deleteById"));
+		deleteByIds = registry.operation(PREFIX, labels("deleteByIds"));
+		findById = registry.operation(PREFIX, labels("findById"));
+		findAll = registry.operation(PREFIX, labels("findAll"));
+		findByDepartment = registry.operation(PREFIX, labels("findByDepartment"));
+		findByCriteria = registry.operation(PREFIX, labels("findByCriteria"));
+		countByCriteria = registry.operation(PREFIX, labels("countByCriteria"));
+		findRange = registry.operation(PREFIX, labels("findRange"));
+		findPage = registry.operation(PREFIX, labels("findPage"));
+		findPageByDepartment = registry.operation(PREFIX, labels("findPageByDepartment"));
+		streamAll = registry.operation(PREFIX, labels("streamAll"));
+		publishAll = registry.operation(PREFIX, labels("publishAll"));
+	}
+
+	private static String labels(String method) {
+		return "dao=\"seller\",method=\"" + method + "\"";
+	}
+
+	@Override
+	public void insert(Seller obj) {
+		long start = System.nanoTime();
+		try {
+			dao.insert(obj);
+			insert.success(start, 1);
+		}
+		catch (RuntimeException e) {
+			insert.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void update(Seller obj) {
+		long start = System.nanoTime();
+		try {
+			dao.update(obj);
+			update.success(start, 1);
+		}
+		catch (RuntimeException e) {
+			update.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void insertAll(Collection<Seller> list, int batchSize) {
+		long start = System.nanoTime();
+		try {
+			dao.insertAll(list, batchSize);
+			insertAll.success(start, list.size());
+		}
+		catch (RuntimeException e) {
+			insertAll.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void bulkInsert(Collection<Seller> list, int rowsPerStatement) {
+		long start = System.nanoTime();
+		try {
+			dao.bulkInsert(list, rowsPerStatement);
+			bulkInsert.success(start, list.size());
+		}
+		catch (RuntimeException e) {
+			bulkInsert.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void updateAll(Collection<Seller> list, int batchSize) {
+		long start = System.nanoTime();
+		try {
+			dao.updateAll(list, batchSize);
+			updateAll.success(start, list.size());
+		}
+		catch (RuntimeException e) {
+			updateAll.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void applyChanges(Collection<Seller> inserts, Map<Seller, Set<SellerField>> updates, int batchSize) {
+		long start = System.nanoTime();
+		try {
+			dao.applyChanges(inserts, updates, batchSize);
+			applyChanges.success(start, inserts.size() + updates.size());
+		}
+		catch (RuntimeException e) {
+			applyChanges.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void deleteById(Integer id) {
+		long start = System.nanoTime();
+		try {
+			dao.deleteById(id);
+			deleteById.success(start, 1);
+		}
+		catch (RuntimeException e) {
+			deleteById.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public void deleteByIds(Collection<Integer> ids) {
+		long start = System.nanoTime();
+		try {
+			dao.deleteByIds(ids);
+			deleteByIds.success(start, ids.size());
+		}
+		catch (RuntimeException e) {
+			deleteByIds.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public Seller findById(Integer id) {
+		long start = System.nanoTime();
+		try {
+			Seller obj = dao.findById(id);
+			findById.success(start, obj == null ? 0 : 1);
+			return obj;
+		}
+		catch (RuntimeException e) {
+			findById.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public List<Seller> findAll() {
+		long start = System.nanoTime();
+		try {
+			List<Seller> list = dao.findAll();
+			findAll.success(start, list.size());
+			return list;
+		}
+		catch (RuntimeException e) {
+			findAll.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public List<Seller> findByDepartment(Department department) {
+		long start = System.nanoTime();
+		try {
+			List<Seller> list = dao.findByDepartment(department);
+			findByDepartment.success(start, list.size());
+			return list;
+		}
+		catch (RuntimeException e) {
+			findByDepartment.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public List<Seller> findByCriteria(SellerCriteria criteria) {
+		long start = System.nanoTime();
+		try {
+			List<Seller> list = dao.findByCriteria(criteria);
+			findByCriteria.success(start, list.size());
+			return list;
+		}
+		catch (RuntimeException e) {
+			findByCriteria.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public int countByCriteria(SellerCriteria criteria) {
+		long start = System.nanoTime();
+		try {
+			int count = dao.countByCriteria(criteria);
+			countByCriteria.success(start, 1);
+			return count;
+		}
+		catch (RuntimeException e) {
+			countByCriteria.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public List<Seller> findRange(SellerCriteria criteria, int offset, int limit) {
+		long start = System.nanoTime();
+		try {
+			List<Seller> list = dao.findRange(criteria, offset, limit);
+			findRange.success(start, list.size());
+			return list;
+		}
+		catch (RuntimeException e) {
+			findRange.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public List<Seller> findPage(String afterName, Integer afterId, int limit) {
+		long start = System.nanoTime();
+		try {
+			List<Seller> list = dao.findPage(afterName, afterId, limit);
+			findPage.success(start, list.size());
+			return list;
+		}
+		catch (RuntimeException e) {
+			findPage.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public List<Seller> findPageByDepartment(Department department, String afterName, Integer afterId, int limit) {
+		long start = System.nanoTime();
+		try {
+			List<Seller> list = dao.findPageByDepartment(department, afterName, afterId, limit);
+			findPageByDepartment.success(start, list.size());
+			return list;
+		}
+		catch (RuntimeException e) {
+			findPageByDepartment.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public Stream<Seller> streamAll(int fetchSize) {
+		long start = System.nanoTime();
+		try {
+			return InstrumentedCursor.stream(dao.streamAll(fetchSize), streamAll, start);
+		}
+		catch (RuntimeException e) {
+			streamAll.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public Stream<Seller> streamAll(int fetchSize, Map<Integer, Department> departments) {
+		long start = System.nanoTime();
+		try {
+			return InstrumentedCursor.stream(dao.streamAll(fetchSize, departments), streamAll, start);
+		}
+		catch (RuntimeException e) {
+			streamAll.failure(start);
+			throw e;
+		}
+	}
+
+	@Override
+	public Flow.Publisher<Seller> publishAll(int fetchSize, Executor executor) {
+		return InstrumentedCursor.publisher(dao.publishAll(fetchSize, executor), publishAll);
+	}
+}
@@ -0,0 +1,83 @@
+package model.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import db.ConnectionProvider;
+import db.DB;
+import db.DbException;
+import model.dao.ReportDao;
+import model.entities.Department;
+import model.entities.DepartmentPayroll;
+
+public class ReportDaoJDBC implements ReportDao {
+
+	private static final String PAYROLL_SQL =
+			"SELECT 0 AS RowGroup, department.Id, department.Name, "
+			+ "COUNT(seller.Id) AS Headcount, SUM(seller.BaseSalary) AS TotalSalary, "
+			+ "AVG(seller.BaseSalary) AS AverageSalary, MIN(seller.BaseSalary) AS MinSalary, "
+			+ "MAX(seller.BaseSalary) AS MaxSalary "
+			+ "FROM department LEFT JOIN seller ON seller.DepartmentId = department.Id "
+			+ "GROUP BY department.Id, department.Name";
+
+	private static final String TOTAL_SQL =
+			"SELECT 1 AS RowGroup, NULL AS Id, NULL AS Name, "
+			+ "COUNT(*) AS Headcount, SUM(BaseSalary) AS TotalSalary, "
+			+ "AVG(BaseSalary) AS AverageSalary, MIN(BaseSalary) AS MinSalary, "
+			+ "MAX(BaseSalary) AS MaxSalary "
+			+ "FROM seller";
+
+	private ConnectionProvider provider;
+
+	public ReportDaoJDBC(ConnectionProvider provider) {
+		this.provider = provider;
+	}
+
+	@Override
+	public List<DepartmentPayroll> findDepartmentPayroll(boolean includeTotal) {
+		Connection conn = null;
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		try {
+			conn = provider.getConnection();
+			st = conn.prepareStatement(
+					PAYROLL_SQL
+					+ (includeTotal ? " UNION ALL " + TOTAL_SQL : "")
+					+ " ORDER BY RowGroup, Name, Id");
+
+			rs = st.executeQuery();
+
+			List<DepartmentPayroll> list = new ArrayList<>();
+			while (rs.next()) {
+				DepartmentPayroll obj = new DepartmentPayroll();
+				if (rs.getInt("RowGroup") == 0) {
+					obj.setDepartment(new Department(rs.getInt("Id"), rs.getString("Name")));
+				}
+				obj.setHeadcount(rs.getInt("Headcount"));
+				obj.setTotalSalary(rs.getDouble("TotalSalary"));
+				obj.setAverageSalary(nullableDouble(rs, "AverageSalary"));
+				obj.setMinSalary(nullableDouble(rs, "MinSalary"));
+				obj.setMaxSalary(nullableDouble(rs, "MaxSalary"));
+				list.add(obj);
+			}
+			return list;
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		}
+	}
+
+	private static Double nullableDouble(ResultSet rs, String label) throws SQLException {
+		double value = rs.getDouble(label);
+		return rs.wasNull() ? null : value;
+	}
+}
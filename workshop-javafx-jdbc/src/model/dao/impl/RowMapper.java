@@ -0,0 +1,32 @@
+package model.dao.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public interface RowMapper<T> {
+
+	T mapRow(ResultSet rs) throws SQLException;
+
+	static <T> List<T> mapAll(ResultSet rs, Factory<T> factory) throws SQLException {
+		RowMapper<T> mapper = factory.create(rs);
+		List<T> list = new ArrayList<>();
+		while (rs.next()) {
+			list.add(mapper.mapRow(rs));
+		}
+		return list;
+	}
+
+	static <T> T mapFirst(ResultSet rs, Factory<T> factory) throws SQLException {
+		if (rs.next()) {
+			return factory.create(rs).mapRow(rs);
+		}
+		return null;
+	}
+
+	interface Factory<T> {
+
+		RowMapper<T> create(ResultSet rs) throws SQLException;
+	}
+}
@@ -6,40 +6,65 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
+import db.ConnectionProvider;
 import db.DB;
+import db.DbBatchException;
 import db.DbException;
+import model.dao.SellerCriteria;
 import model.dao.SellerDao;
+import model.dao.SellerField;
+import model.dao.SellerSortKey;
 import model.entities.Department;
 import model.entities.Seller;
 
 public class SellerDaoJDBC implements SellerDao {
 
-	private Connection conn;
+	private static final String INSERT_PREFIX =
+			"INSERT INTO seller "
+			+ "(Name, Email, BirthDate, BaseSalary, DepartmentId) "
+			+ "VALUES ";
+
+	private static final String INSERT_ROW = "(?, ?, ?, ?, ?)";
+
+	private static final String INSERT_SQL = INSERT_PREFIX + INSERT_ROW;
+
+	private static final String SELECT_SQL =
+			"SELECT seller.*,"
+			+ "(SELECT department.Name FROM department WHERE department.Id = seller.DepartmentId) as DepName "
+			+ "FROM seller ";
+
+	private static final String UPDATE_SQL =
+			"UPDATE seller "
+			+ "SET Name = ?, Email = ?, BirthDate = ?, BaseSalary = ?, DepartmentId = ? "
+			+ "WHERE Id = ?";
+
+	private static final int DELETE_CHUNK_SIZE = 1000;
+
+	private ConnectionProvider provider;
 	
-	public SellerDaoJDBC(Connection conn) {
-		this.conn = conn;
+	public SellerDaoJDBC(ConnectionProvider provider) {
+		this.provider = provider;
 	}
 	
 	@Override
 	public void insert(Seller obj) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		try {
-			st = conn.prepareStatement(
-					"INSERT INTO seller "
-					+ "(Name, Email, BirthDate, BaseSalary, DepartmentId) "
-					+ "VALUES "
-					+ "(?, ?, ?, ?, ?)",
-					Statement.RETURN_GENERATED_KEYS);
-			
-			st.setString(1, obj.getName());
-			st.setString(2, obj.getEmail());
-			st.setDate(3, new java.sql.Date(obj.getBirthDate().getTime()));
-			st.setDouble(4, obj.getBaseSalary());
-			st.setInt(5, obj.getDepartment().getId());
+			conn = provider.getConnection();
+			st = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+			
+			setParameters(st, obj);
 			
 			int rowsAffected = st.executeUpdate();
 			
@@ -60,23 +85,19 @@ public class SellerDaoJDBC implements SellerDao {
 		}
 		finally {
 			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
 	@Override
 	public void update(Seller obj) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		try {
-			st = conn.prepareStatement(
-					"UPDATE seller "
-					+ "SET Name = ?, Email = ?, BirthDate = ?, BaseSalary = ?, DepartmentId = ? "
-					+ "WHERE Id = ?");
-			
-			st.setString(1, obj.getName());
-			st.setString(2, obj.getEmail());
-			st.setDate(3, new java.sql.Date(obj.getBirthDate().getTime()));
-			st.setDouble(4, obj.getBaseSalary());
-			st.setInt(5, obj.getDepartment().getId());
+			conn = provider.getConnection();
+			st = conn.prepareStatement(UPDATE_SQL);
+			
+			setParameters(st, obj);
 			st.setInt(6, obj.getId());
 			
 			st.executeUpdate();
@@ -86,13 +107,172 @@ public class SellerDaoJDBC implements SellerDao {
 		}
 		finally {
 			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
+	@Override
+	public void insertAll(Collection<Seller> list, int batchSize) {
+		BatchWriter.write(provider, INSERT_SQL, list, batchSize, this::setParameters, Seller::setId);
+	}
+
+	@Override
+	public void bulkInsert(Collection<Seller> list, int rowsPerStatement) {
+		if (list.isEmpty()) {
+			return;
+		}
+		Connection conn = null;
+		try {
+			conn = provider.getConnection();
+			conn.setAutoCommit(false);
+			
+			BatchWriter.insertRows(conn, INSERT_PREFIX, INSERT_ROW, 5, list, rowsPerStatement, this::setParameters);
+			
+			conn.commit();
+		}
+		catch (SQLException e) {
+			if (BatchWriter.isDataError(e)) {
+				DbBatchException exception = new DbBatchException("Bulk insert failed, no rows were written");
+				exception.addError(0, e.getMessage());
+				throw exception;
+			}
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeConnection(conn);
+		}
+	}
+
+	@Override
+	public void updateAll(Collection<Seller> list, int batchSize) {
+		BatchWriter.write(provider, UPDATE_SQL, list, batchSize, (st, obj) -> {
+			setParameters(st, obj);
+			st.setInt(6, obj.getId());
+		}, null);
+	}
+
+	@Override
+	public void applyChanges(Collection<Seller> inserts, Map<Seller, Set<SellerField>> updates, int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		Map<Set<SellerField>, List<Seller>> groups = new LinkedHashMap<>();
+		for (Map.Entry<Seller, Set<SellerField>> entry : updates.entrySet()) {
+			if (!entry.getValue().isEmpty()) {
+				groups.computeIfAbsent(EnumSet.copyOf(entry.getValue()), k -> new ArrayList<>()).add(entry.getKey());
+			}
+		}
+		if (inserts.isEmpty() && groups.isEmpty()) {
+			return;
+		}
+		Connection conn = null;
+		try {
+			conn = provider.getConnection();
+			conn.setAutoCommit(false);
+
+			try {
+				saveChunks(conn, inserts, groups, batchSize);
+				conn.commit();
+			}
+			catch (SQLException | RuntimeException e) {
+				// ids handed out by earlier insert chunks belong to rows that are not committed now
+				BatchWriter.rollback(conn, e);
+				BatchWriter.resetKeys(inserts, Seller::setId);
+				throw e;
+			}
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeConnection(conn);
+		}
+	}
+
+	private void saveChunks(Connection conn, Collection<Seller> inserts, Map<Set<SellerField>, List<Seller>> groups,
+			int batchSize) throws SQLException {
+		DbBatchException exception = new DbBatchException("Batch failed, no rows were written");
+		int chunk = 0;
+		if (!inserts.isEmpty()) {
+			PreparedStatement st = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+			try {
+				chunk = BatchWriter.executeChunks(st, inserts, batchSize, chunk, this::setParameters,
+						Seller::setId, exception);
+			}
+			finally {
+				DB.closeStatement(st);
+			}
+		}
+		for (Map.Entry<Set<SellerField>, List<Seller>> group : groups.entrySet()) {
+			Set<SellerField> fields = group.getKey();
+			PreparedStatement st = conn.prepareStatement(updateSql(fields));
+			try {
+				chunk = BatchWriter.executeChunks(st, group.getValue(), batchSize, chunk, (ps, obj) -> {
+					int index = 1;
+					for (SellerField field : fields) {
+						setField(ps, index++, obj, field);
+					}
+					ps.setInt(index, obj.getId());
+				}, null, exception);
+			}
+			finally {
+				DB.closeStatement(st);
+			}
+		}
+
+		if (exception.getErrors().size() > 0) {
+			throw exception;
+		}
+	}
+
+	private static String updateSql(Set<SellerField> fields) {
+		StringBuilder sql = new StringBuilder("UPDATE seller SET ");
+		String separator = "";
+		for (SellerField field : fields) {
+			sql.append(separator).append(field.getColumn()).append(" = ?");
+			separator = ", ";
+		}
+		return sql.append(" WHERE Id = ?").toString();
+	}
+
+	private void setField(PreparedStatement st, int index, Seller obj, SellerField field) throws SQLException {
+		switch (field) {
+		case NAME:
+			st.setString(index, obj.getName());
+			break;
+		case EMAIL:
+			st.setString(index, obj.getEmail());
+			break;
+		case BIRTH_DATE:
+			st.setDate(index, new java.sql.Date(obj.getBirthDate().getTime()));
+			break;
+		case BASE_SALARY:
+			st.setDouble(index, obj.getBaseSalary());
+			break;
+		case DEPARTMENT:
+			st.setInt(index, obj.getDepartment().getId());
+			break;
+		}
+	}
+
+	private void setParameters(PreparedStatement st, Seller obj) throws SQLException {
+		setParameters(st, 0, obj);
+	}
+
+	private void setParameters(PreparedStatement st, int offset, Seller obj) throws SQLException {
+		st.setString(offset + 1, obj.getName());
+		st.setString(offset + 2, obj.getEmail());
+		st.setDate(offset + 3, new java.sql.Date(obj.getBirthDate().getTime()));
+		st.setDouble(offset + 4, obj.getBaseSalary());
+		st.setInt(offset + 5, obj.getDepartment().getId());
+	}
+
 	@Override
 	public void deleteById(Integer id) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		try {
+			conn = provider.getConnection();
 			st = conn.prepareStatement("DELETE FROM seller WHERE Id = ?");
 			
 			st.setInt(1, id);
@@ -104,104 +284,91 @@ public class SellerDaoJDBC implements SellerDao {
 		}
 		finally {
 			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		}
+	}
+
+	@Override
+	public void deleteByIds(Collection<Integer> ids) {
+		if (ids.isEmpty()) {
+			return;
+		}
+		Connection conn = null;
+		try {
+			conn = provider.getConnection();
+			conn.setAutoCommit(false);
+			
+			BatchWriter.deleteIn(conn, "seller", ids, DELETE_CHUNK_SIZE);
+			
+			conn.commit();
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeConnection(conn);
 		}
 	}
 
 	@Override
 	public Seller findById(Integer id) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		ResultSet rs = null;
 		try {
+			conn = provider.getConnection();
 			st = conn.prepareStatement(
-					"SELECT seller.*,department.Name as DepName "
-					+ "FROM seller INNER JOIN department "
-					+ "ON seller.DepartmentId = department.Id "
+					SELECT_SQL
 					+ "WHERE seller.Id = ?");
 			
 			st.setInt(1, id);
 			rs = st.executeQuery();
-			if (rs.next()) {
-				Department dep = instantiateDepartment(rs);
-				Seller obj = instantiateSeller(rs, dep);
-				return obj;
-			}
-			return null;
+			return RowMapper.mapFirst(rs, SellerRowMapper::new);
 		}
 		catch (SQLException e) {
 			throw new DbException(e.getMessage());
 		}
 		finally {
-			DB.closeStatement(st);
 			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
-	private Seller instantiateSeller(ResultSet rs, Department dep) throws SQLException {
-		Seller obj = new Seller();
-		obj.setId(rs.getInt("Id"));
-		obj.setName(rs.getString("Name"));
-		obj.setEmail(rs.getString("Email"));
-		obj.setBaseSalary(rs.getDouble("BaseSalary"));
-		obj.setBirthDate(new java.util.Date(rs.getTimestamp("BirthDate").getTime()));
-		obj.setDepartment(dep);
-		return obj;
-	}
-
-	private Department instantiateDepartment(ResultSet rs) throws SQLException {
-		Department dep = new Department();
-		dep.setId(rs.getInt("DepartmentId"));
-		dep.setName(rs.getString("DepName"));
-		return dep;
-	}
-
 	@Override
 	public List<Seller> findAll() {
+		Connection conn = null;
 		PreparedStatement st = null;
 		ResultSet rs = null;
 		try {
+			conn = provider.getConnection();
 			st = conn.prepareStatement(
-					"SELECT seller.*,department.Name as DepName "
-					+ "FROM seller INNER JOIN department "
-					+ "ON seller.DepartmentId = department.Id "
+					SELECT_SQL
 					+ "ORDER BY Name");
 			
 			rs = st.executeQuery();
 			
-			List<Seller> list = new ArrayList<>();
-			Map<Integer, Department> map = new HashMap<>();
-			
-			while (rs.next()) {
-				
-				Department dep = map.get(rs.getInt("DepartmentId"));
-				
-				if (dep == null) {
-					dep = instantiateDepartment(rs);
-					map.put(rs.getInt("DepartmentId"), dep);
-				}
-				
-				Seller obj = instantiateSeller(rs, dep);
-				list.add(obj);
-			}
-			return list;
+			return RowMapper.mapAll(rs, SellerRowMapper::new);
 		}
 		catch (SQLException e) {
 			throw new DbException(e.getMessage());
 		}
 		finally {
-			DB.closeStatement(st);
 			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
 		}
 	}
 
 	@Override
 	public List<Seller> findByDepartment(Department department) {
+		Connection conn = null;
 		PreparedStatement st = null;
 		ResultSet rs = null;
 		try {
+			conn = provider.getConnection();
 			st = conn.prepareStatement(
-					"SELECT seller.*,department.Name as DepName "
-					+ "FROM seller INNER JOIN department "
-					+ "ON seller.DepartmentId = department.Id "
+					SELECT_SQL
 					+ "WHERE DepartmentId = ? "
 					+ "ORDER BY Name");
 			
@@ -209,29 +376,276 @@ public class SellerDaoJDBC implements SellerDao {
 			
 			rs = st.executeQuery();
 			
-			List<Seller> list = new ArrayList<>();
-			Map<Integer, Department> map = new HashMap<>();
+			return RowMapper.mapAll(rs, SellerRowMapper::new);
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		}
+	}
+
+	@Override
+	public List<Seller> findByCriteria(SellerCriteria criteria) {
+		return findRange(criteria, 0, criteria.getLimit());
+	}
+
+	@Override
+	public int countByCriteria(SellerCriteria criteria) {
+		Connection conn = null;
+		try {
+			conn = provider.getConnection();
+			return count(conn, criteria);
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeConnection(conn);
+		}
+	}
+
+	@Override
+	public List<Seller> findRange(SellerCriteria criteria, int offset, int limit) {
+		Connection conn = null;
+		try {
+			conn = provider.getConnection();
+			return findRange(conn, criteria, offset, limit);
+		}
+		catch (SQLException e) {
+			throw new DbException(e.getMessage());
+		}
+		finally {
+			DB.closeConnection(conn);
+		}
+	}
+
+	private int count(Connection conn, SellerCriteria criteria) throws SQLException {
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		try {
+			StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM seller ");
+			List<Object> values = new ArrayList<>();
+			appendConditions(sql, values, criteria);
 			
-			while (rs.next()) {
-				
-				Department dep = map.get(rs.getInt("DepartmentId"));
-				
-				if (dep == null) {
-					dep = instantiateDepartment(rs);
-					map.put(rs.getInt("DepartmentId"), dep);
-				}
-				
-				Seller obj = instantiateSeller(rs, dep);
-				list.add(obj);
+			st = conn.prepareStatement(sql.toString());
+			
+			int index = 1;
+			for (Object value : values) {
+				st.setObject(index++, value);
+			}
+			
+			rs = st.executeQuery();
+			rs.next();
+			return rs.getInt(1);
+		}
+		finally {
+			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+		}
+	}
+
+	private List<Seller> findRange(Connection conn, SellerCriteria criteria, int offset, int limit)
+			throws SQLException {
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		try {
+			StringBuilder sql = new StringBuilder(SELECT_SQL);
+			List<Object> values = new ArrayList<>();
+			appendConditions(sql, values, criteria);
+			
+			// both columns run the same direction, so MySQL reads the sort index backwards for descending pages
+			String direction = criteria.isAscending() ? "" : " DESC";
+			sql.append("ORDER BY ");
+			if (criteria.getSortKey() != SellerSortKey.ID) {
+				sql.append("seller.").append(criteria.getSortKey().getColumn()).append(direction).append(", ");
+			}
+			sql.append("seller.Id").append(direction).append(" LIMIT ?");
+			values.add(limit);
+			if (offset > 0) {
+				sql.append(" OFFSET ?");
+				values.add(offset);
+			}
+			
+			st = conn.prepareStatement(sql.toString());
+			
+			int index = 1;
+			for (Object value : values) {
+				st.setObject(index++, value);
+			}
+			
+			rs = st.executeQuery();
+			
+			return RowMapper.mapAll(rs, SellerRowMapper::new);
+		}
+		finally {
+			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+		}
+	}
+
+	private static void appendConditions(StringBuilder sql, List<Object> values, SellerCriteria criteria) {
+		List<String> conditions = new ArrayList<>();
+		if (hasText(criteria.getNamePrefix())) {
+			conditions.add("seller.Name LIKE ? ESCAPE '!'");
+			values.add(likePrefix(criteria.getNamePrefix()));
+		}
+		if (hasText(criteria.getEmailPrefix())) {
+			conditions.add("seller.Email LIKE ? ESCAPE '!'");
+			values.add(likePrefix(criteria.getEmailPrefix()));
+		}
+		if (criteria.getMinBaseSalary() != null) {
+			conditions.add("seller.BaseSalary >= ?");
+			values.add(criteria.getMinBaseSalary());
+		}
+		if (criteria.getMaxBaseSalary() != null) {
+			conditions.add("seller.BaseSalary <= ?");
+			values.add(criteria.getMaxBaseSalary());
+		}
+		if (criteria.getBirthDateFrom() != null) {
+			conditions.add("seller.BirthDate >= ?");
+			values.add(new java.sql.Timestamp(criteria.getBirthDateFrom().getTime()));
+		}
+		if (criteria.getBirthDateBefore() != null) {
+			conditions.add("seller.BirthDate < ?");
+			values.add(new java.sql.Timestamp(criteria.getBirthDateBefore().getTime()));
+		}
+		if (!criteria.getDepartmentIds().isEmpty()) {
+			StringBuilder in = new StringBuilder("seller.DepartmentId IN (");
+			String separator = "";
+			for (Integer departmentId : criteria.getDepartmentIds()) {
+				in.append(separator).append("?");
+				separator = ", ";
+				values.add(departmentId);
+			}
+			conditions.add(in.append(")").toString());
+		}
+		if (!conditions.isEmpty()) {
+			sql.append("WHERE ").append(String.join(" AND ", conditions)).append(" ");
+		}
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.trim().isEmpty();
+	}
+
+	private static String likePrefix(String value) {
+		return value.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+	}
+
+	@Override
+	public List<Seller> findPage(String afterName, Integer afterId, int limit) {
+		return findPage(null, afterName, afterId, limit);
+	}
+
+	@Override
+	public List<Seller> findPageByDepartment(Department department, String afterName, Integer afterId, int limit) {
+		return findPage(department.getId(), afterName, afterId, limit);
+	}
+
+	private List<Seller> findPage(Integer departmentId, String afterName, Integer afterId, int limit) {
+		Connection conn = null;
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		try {
+			conn = provider.getConnection();
+			
+			StringBuilder sql = new StringBuilder(SELECT_SQL);
+			List<String> conditions = new ArrayList<>();
+			if (departmentId != null) {
+				conditions.add("seller.DepartmentId = ?");
+			}
+			if (afterName != null) {
+				conditions.add("seller.Name >= ? AND (seller.Name > ? OR seller.Id > ?)");
+			}
+			if (!conditions.isEmpty()) {
+				sql.append("WHERE ").append(String.join(" AND ", conditions)).append(" ");
 			}
-			return list;
+			sql.append("ORDER BY seller.Name, seller.Id LIMIT ?");
+			
+			st = conn.prepareStatement(sql.toString());
+			
+			int index = 1;
+			if (departmentId != null) {
+				st.setInt(index++, departmentId);
+			}
+			if (afterName != null) {
+				st.setString(index++, afterName);
+				st.setString(index++, afterName);
+				st.setInt(index++, afterId == null ? Integer.MIN_VALUE : afterId);
+			}
+			st.setInt(index, limit);
+			
+			rs = st.executeQuery();
+			
+			return RowMapper.mapAll(rs, SellerRowMapper::new);
 		}
 		catch (SQLException e) {
 			throw new DbException(e.getMessage());
 		}
 		finally {
+			DB.closeResultSet(rs);
 			DB.closeStatement(st);
+			DB.closeConnection(conn);
+		}
+	}
+
+	@Override
+	public Stream<Seller> streamAll(int fetchSize) {
+		Connection conn = null;
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		try {
+			conn = provider.getConnection();
+			st = conn.prepareStatement(
+					SELECT_SQL
+					+ "ORDER BY seller.Name, seller.Id",
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			st.setFetchSize(fetchSize);
+			
+			rs = st.executeQuery();
+			
+			return CursorSpliterator.stream(conn, st, rs, new SellerRowMapper(rs));
+		}
+		catch (SQLException e) {
+			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
+			throw new DbException(e.getMessage());
+		}
+	}
+
+	@Override
+	public Stream<Seller> streamAll(int fetchSize, Map<Integer, Department> departments) {
+		Connection conn = null;
+		PreparedStatement st = null;
+		ResultSet rs = null;
+		try {
+			conn = provider.getConnection();
+			st = conn.prepareStatement(
+					"SELECT Id, Name, Email, BirthDate, BaseSalary, DepartmentId "
+					+ "FROM seller "
+					+ "ORDER BY Id",
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			st.setFetchSize(fetchSize);
+			
+			rs = st.executeQuery();
+			
+			return CursorSpliterator.stream(conn, st, rs, new SellerRowMapper(rs, departments));
+		}
+		catch (SQLException e) {
 			DB.closeResultSet(rs);
+			DB.closeStatement(st);
+			DB.closeConnection(conn);
+			throw new DbException(e.getMessage());
 		}
 	}
+
+	@Override
+	public Flow.Publisher<Seller> publishAll(int fetchSize, Executor executor) {
+		return new CursorPublisher<>(() -> streamAll(fetchSize), executor);
+	}
 }
@@ -0,0 +1,63 @@
+package model.dao.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+import model.entities.Department;
+import model.entities.Seller;
+
+public class SellerRowMapper implements RowMapper<Seller> {
+
+	private final int id;
+	private final int name;
+	private final int email;
+	private final int baseSalary;
+	private final int birthDate;
+	private final int departmentId;
+	private final DepartmentRowMapper departmentMapper;
+	private final Map<Integer, Department> departments;
+
+	public SellerRowMapper(ResultSet rs) throws SQLException {
+		this(new ColumnIndex(rs), "DepName", new HashMap<>());
+	}
+
+	SellerRowMapper(ResultSet rs, Map<Integer, Department> departments) throws SQLException {
+		this(new ColumnIndex(rs), null, new HashMap<>(departments));
+	}
+
+	private SellerRowMapper(ColumnIndex columns, String departmentNameLabel, Map<Integer, Department> departments)
+			throws SQLException {
+		id = columns.get("Id");
+		name = columns.get("Name");
+		email = columns.get("Email");
+		baseSalary = columns.get("BaseSalary");
+		birthDate = columns.get("BirthDate");
+		departmentId = columns.get("DepartmentId");
+		departmentMapper = departmentNameLabel == null ? null
+				: new DepartmentRowMapper(columns, "DepartmentId", departmentNameLabel);
+		this.departments = departments;
+	}
+
+	@Override
+	public Seller mapRow(ResultSet rs) throws SQLException {
+		int depId = rs.getInt(departmentId);
+		Department dep = departments.get(depId);
+		if (dep == null) {
+			dep = departmentMapper != null ? departmentMapper.mapRow(rs) : new Department(depId, null);
+			departments.put(depId, dep);
+		}
+
+		Seller obj = new Seller();
+		obj.setId(rs.getInt(id));
+		obj.setName(rs.getString(name));
+		obj.setEmail(rs.getString(email));
+		obj.setBaseSalary(rs.getDouble(baseSalary));
+		Timestamp timestamp = rs.getTimestamp(birthDate);
+		obj.setBirthDate(timestamp == null ? null : new java.util.Date(timestamp.getTime()));
+		obj.setDepartment(dep);
+		return obj;
+	}
+}
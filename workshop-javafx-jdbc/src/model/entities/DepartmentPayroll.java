@@ -0,0 +1,87 @@
+package model.entities;
+
+import java.io.Serializable;
+
+public class DepartmentPayroll implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private Department department;
+	private Integer headcount;
+	private Double totalSalary;
+	private Double averageSalary;
+	private Double minSalary;
+	private Double maxSalary;
+
+	public DepartmentPayroll() {
+	}
+
+	public DepartmentPayroll(Department department, Integer headcount, Double totalSalary, Double averageSalary,
+			Double minSalary, Double maxSalary) {
+		this.department = department;
+		this.headcount = headcount;
+		this.totalSalary = totalSalary;
+		this.averageSalary = averageSalary;
+		this.minSalary = minSalary;
+		this.maxSalary = maxSalary;
+	}
+
+	public Department getDepartment() {
+		return department;
+	}
+
+	public void setDepartment(Department department) {
+		this.department = department;
+	}
+
+	public Integer getHeadcount() {
+		return headcount;
+	}
+
+	public void setHeadcount(Integer headcount) {
+		this.headcount = headcount;
+	}
+
+	public Double getTotalSalary() {
+		return totalSalary;
+	}
+
+	public void setTotalSalary(Double totalSalary) {
+		this.totalSalary = totalSalary;
+	}
+
+	public Double getAverageSalary() {
+		return averageSalary;
+	}
+
+	public void setAverageSalary(Double averageSalary) {
+		this.averageSalary = averageSalary;
+	}
+
+	public Double getMinSalary() {
+		return minSalary;
+	}
+
+	public void setMinSalary(Double minSalary) {
+		this.minSalary = minSalary;
+	}
+
+	public Double getMaxSalary() {
+		return maxSalary;
+	}
+
+	public void setMaxSalary(Double maxSalary) {
+		this.maxSalary = maxSalary;
+	}
+
+	public boolean isTotal() {
+		return department == null;
+	}
+
+	@Override
+	public String toString() {
+		return "DepartmentPayroll [department=" + department + ", headcount=" + headcount + ", totalSalary="
+				+ totalSalary + ", averageSalary=" + averageSalary + ", minSalary=" + minSalary + ", maxSalary="
+				+ maxSalary + "]";
+	}
+}
@@ -0,0 +1,7 @@
+package model.events;
+
+public enum ChangeOperation {
+	INSERT,
+	UPDATE,
+	DELETE;
+}
@@ -0,0 +1,59 @@
+package model.events;
+
+public final class EntityChangeEvent<T> {
+
+	private final Class<T> entityType;
+	private final Integer id;
+	private final ChangeOperation operation;
+	private final T snapshot;
+
+	private EntityChangeEvent(Class<T> entityType, Integer id, ChangeOperation operation, T snapshot) {
+		this.entityType = entityType;
+		this.id = id;
+		this.operation = operation;
+		this.snapshot = snapshot;
+	}
+
+	public static <T> EntityChangeEvent<T> inserted(Class<T> entityType, Integer id, T snapshot) {
+		return new EntityChangeEvent<>(entityType, id, ChangeOperation.INSERT, snapshot);
+	}
+
+	public static <T> EntityChangeEvent<T> updated(Class<T> entityType, Integer id, T snapshot) {
+		return new EntityChangeEvent<>(entityType, id, ChangeOperation.UPDATE, snapshot);
+	}
+
+	public static <T> EntityChangeEvent<T> deleted(Class<T> entityType, Integer id) {
+		return new EntityChangeEvent<>(entityType, id, ChangeOperation.DELETE, null);
+	}
+
+	// rows were written without their ids being known, e.g. by a bulk import
+	public static <T> EntityChangeEvent<T> bulkInserted(Class<T> entityType) {
+		return new EntityChangeEvent<>(entityType, null, ChangeOperation.INSERT, null);
+	}
+
+	public Class<T> getEntityType() {
+		return entityType;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public ChangeOperation getOperation() {
+		return operation;
+	}
+
+	public T getSnapshot() {
+		return snapshot;
+	}
+
+	public boolean isBulk() {
+		return id == null;
+	}
+
+	@Override
+	public String toString() {
+		return "EntityChangeEvent [entityType=" + entityType.getSimpleName() + ", id=" + id + ", operation="
+				+ operation + ", snapshot=" + snapshot + "]";
+	}
+}
@@ -0,0 +1,9 @@
+package model.events;
+
+import java.util.List;
+
+public interface EntityChangeListener<T> {
+
+	void onChanges(List<EntityChangeEvent<T>> events);
+
+}
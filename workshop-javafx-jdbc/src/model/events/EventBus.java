@@ -0,0 +1,132 @@
+package model.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class EventBus {
+
+	public interface Subscription {
+		void cancel();
+	}
+
+	private static final Logger LOGGER = Logger.getLogger(EventBus.class.getName());
+
+	private static final EventBus DEFAULT = new EventBus();
+
+	private static final Subscriber<?>[] NONE = new Subscriber<?>[0];
+
+	private final ConcurrentMap<Class<?>, AtomicReference<Subscriber<?>[]>> subscribers = new ConcurrentHashMap<>();
+
+	public static EventBus getDefault() {
+		return DEFAULT;
+	}
+
+	public <T> Subscription subscribe(Class<T> entityType, EntityChangeListener<T> listener, Executor executor) {
+		Subscriber<T> subscriber = new Subscriber<>(listener, executor);
+		AtomicReference<Subscriber<?>[]> list = subscribers.computeIfAbsent(entityType, k -> new AtomicReference<>(NONE));
+		Subscriber<?>[] current;
+		Subscriber<?>[] next;
+		do {
+			current = list.get();
+			next = Arrays.copyOf(current, current.length + 1);
+			next[current.length] = subscriber;
+		} while (!list.compareAndSet(current, next));
+		return () -> unsubscribe(list, subscriber);
+	}
+
+	private void unsubscribe(AtomicReference<Subscriber<?>[]> list, Subscriber<?> subscriber) {
+		subscriber.cancelled = true;
+		Subscriber<?>[] current;
+		Subscriber<?>[] next;
+		do {
+			current = list.get();
+			int index = Arrays.asList(current).indexOf(subscriber);
+			if (index < 0) {
+				return;
+			}
+			next = new Subscriber<?>[current.length - 1];
+			System.arraycopy(current, 0, next, 0, index);
+			System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+		} while (!list.compareAndSet(current, next));
+	}
+
+	public <T> void publish(EntityChangeEvent<T> event) {
+		publishAll(event.getEntityType(), Collections.singletonList(event));
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> void publishAll(Class<T> entityType, Collection<EntityChangeEvent<T>> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		AtomicReference<Subscriber<?>[]> list = subscribers.get(entityType);
+		if (list == null) {
+			return;
+		}
+		for (Subscriber<?> subscriber : list.get()) {
+			((Subscriber<T>) subscriber).offer(events);
+		}
+	}
+
+	private static class Subscriber<T> {
+
+		private final EntityChangeListener<T> listener;
+		private final Executor executor;
+		private final Queue<EntityChangeEvent<T>> pending = new ConcurrentLinkedQueue<>();
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private volatile boolean cancelled;
+
+		Subscriber(EntityChangeListener<T> listener, Executor executor) {
+			this.listener = listener;
+			this.executor = executor;
+		}
+
+		void offer(Collection<EntityChangeEvent<T>> events) {
+			if (cancelled) {
+				return;
+			}
+			pending.addAll(events);
+			// events published while a delivery is already scheduled join that batch
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					executor.execute(this::drain);
+				}
+				catch (RuntimeException e) {
+					scheduled.set(false);
+					pending.clear();
+					LOGGER.log(Level.WARNING, "Could not schedule change event delivery", e);
+				}
+			}
+		}
+
+		private void drain() {
+			scheduled.set(false);
+			List<EntityChangeEvent<T>> batch = new ArrayList<>();
+			EntityChangeEvent<T> event;
+			while ((event = pending.poll()) != null) {
+				batch.add(event);
+			}
+			if (cancelled || batch.isEmpty()) {
+				return;
+			}
+			try {
+				listener.onChanges(Collections.unmodifiableList(batch));
+			}
+			catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, "Change listener failed", e);
+			}
+		}
+	}
+}
@@ -1,14 +1,29 @@
 package model.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import model.dao.DaoFactory;
 import model.dao.DepartmentDao;
 import model.entities.Department;
+import model.events.EntityChangeEvent;
+import model.events.EventBus;
 
 public class DepartmentService {
 	
-	private DepartmentDao dao = DaoFactory.createDepartmentDao();
+	private DepartmentDao dao;
+	
+	private EventBus eventBus = EventBus.getDefault();
+	
+	public DepartmentService() {
+		this(DaoFactory.createDepartmentDao());
+	}
+	
+	public DepartmentService(DepartmentDao dao) {
+		this.dao = dao;
+	}
 	
 	public List<Department> findAll() {
 		return dao.findAll();
@@ -17,13 +32,47 @@ public class DepartmentService {
 	public void saveOrUpdate(Department department) {
 		if (department.getId() == null) {
 			dao.insert(department);
+			eventBus.publish(EntityChangeEvent.inserted(Department.class, department.getId(), snapshot(department)));
 		} else {
 			dao.update(department);
+			eventBus.publish(EntityChangeEvent.updated(Department.class, department.getId(), snapshot(department)));
 		}
 	}
 	
 	public void remove(Department department) {
 		dao.deleteById(department.getId());
+		eventBus.publish(EntityChangeEvent.deleted(Department.class, department.getId()));
+	}
+	
+	public void removeAll(Collection<Department> departments) {
+		List<Integer> ids = new ArrayList<>(departments.size());
+		List<EntityChangeEvent<Department>> events = new ArrayList<>(departments.size());
+		for (Department department : departments) {
+			ids.add(department.getId());
+			events.add(EntityChangeEvent.deleted(Department.class, department.getId()));
+		}
+		dao.deleteByIds(ids);
+		eventBus.publishAll(Department.class, events);
+	}
+	
+	private static Department snapshot(Department department) {
+		return new Department(department.getId(), department.getName());
+	}
+	
+	public CompletableFuture<List<Department>> findAllAsync() {
+		return CompletableFuture.supplyAsync(this::findAll, ServiceExecutor.getExecutor());
+	}
+	
+	public CompletableFuture<Void> saveOrUpdateAsync(Department department) {
+		return CompletableFuture.runAsync(() -> saveOrUpdate(department), ServiceExecutor.getExecutor());
+	}
+	
+	public CompletableFuture<Void> removeAsync(Department department) {
+		return CompletableFuture.runAsync(() -> remove(department), ServiceExecutor.getExecutor());
+	}
+	
+	public CompletableFuture<Void> removeAllAsync(Collection<Department> departments) {
+		return CompletableFuture.runAsync(() -> removeAll(departments), ServiceExecutor.getExecutor());
 	}
 
 }
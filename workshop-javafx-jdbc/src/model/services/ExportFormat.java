@@ -0,0 +1,32 @@
+package model.services;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum ExportFormat {
+
+	CSV(".csv"),
+	NDJSON(".ndjson");
+
+	private final String extension;
+
+	private ExportFormat(String extension) {
+		this.extension = extension;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static ExportFormat forFile(Path file) {
+		String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		if (name.endsWith(".gz")) {
+			name = name.substring(0, name.length() - 3);
+		}
+		return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+	}
+
+	public static boolean isCompressed(Path file) {
+		return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+	}
+}
@@ -0,0 +1,58 @@
+package model.services;
+
+import java.nio.file.Path;
+
+public class ExportResult {
+
+	private final Path file;
+	private long rows;
+	private long bytes;
+	private boolean cancelled;
+	private long elapsedMillis;
+
+	ExportResult(Path file) {
+		this.file = file;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	void setRows(long rows) {
+		this.rows = rows;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	void setBytes(long bytes) {
+		this.bytes = bytes;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "ExportResult [file=" + file + ", rows=" + rows + ", bytes=" + bytes + ", cancelled=" + cancelled
+				+ ", elapsedMillis=" + elapsedMillis + "]";
+	}
+}
@@ -0,0 +1,261 @@
+package model.services;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import csv.CsvWriter;
+import json.NdjsonWriter;
+import model.dao.DaoFactory;
+import model.dao.DepartmentDao;
+import model.dao.SellerDao;
+import model.entities.Department;
+import model.entities.Seller;
+
+public class ExportService {
+
+	public interface ProgressListener {
+		void progress(long rows);
+	}
+
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final int PROGRESS_INTERVAL = 10000;
+
+	private static final String[] SELLER_CSV_HEADER =
+			{ "Id", "Name", "Email", "Birth Date", "Base Salary", "Department Id", "Department" };
+
+	private static final String[] SELLER_JSON_FIELDS =
+			{ "id", "name", "email", "birthDate", "baseSalary", "departmentId", "department" };
+
+	private static final String[] DEPARTMENT_CSV_HEADER = { "Id", "Name" };
+
+	private static final String[] DEPARTMENT_JSON_FIELDS = { "id", "name" };
+
+	private SellerDao sellerDao;
+	private DepartmentDao departmentDao;
+
+	public ExportService() {
+		this(DaoFactory.createSellerDao(), DaoFactory.createDepartmentDao());
+	}
+
+	public ExportService(SellerDao sellerDao, DepartmentDao departmentDao) {
+		this.sellerDao = sellerDao;
+		this.departmentDao = departmentDao;
+	}
+
+	public ExportResult exportSellers(Path file, ExportFormat format, boolean compress, int fetchSize,
+			ProgressListener listener, BooleanSupplier cancelled) throws IOException {
+		long start = System.currentTimeMillis();
+		ExportResult result = new ExportResult(file);
+		Map<Integer, Department> departments = new HashMap<>();
+		for (Department department : departmentDao.findAll()) {
+			departments.put(department.getId(), department);
+		}
+		ZoneId zone = ZoneId.systemDefault();
+
+		Path part = partFileFor(file);
+		boolean completed = false;
+		try {
+			long rows = 0;
+			try (RowWriter writer = openWriter(part, format, compress, SELLER_CSV_HEADER, SELLER_JSON_FIELDS);
+					Stream<Seller> stream = sellerDao.streamAll(fetchSize, departments)) {
+				Object[] row = new Object[SELLER_JSON_FIELDS.length];
+				Iterator<Seller> it = stream.iterator();
+				while (it.hasNext()) {
+					if (cancelled.getAsBoolean()) {
+						result.setCancelled(true);
+						break;
+					}
+					Seller obj = it.next();
+					Department dep = obj.getDepartment();
+					row[0] = obj.getId();
+					row[1] = obj.getName();
+					row[2] = obj.getEmail();
+					row[3] = formatDate(obj.getBirthDate(), zone);
+					row[4] = obj.getBaseSalary() == null ? null : BigDecimal.valueOf(obj.getBaseSalary());
+					row[5] = dep == null ? null : dep.getId();
+					row[6] = dep == null ? null : dep.getName();
+					writer.writeRow(row);
+					if (++rows % PROGRESS_INTERVAL == 0) {
+						listener.progress(rows);
+					}
+				}
+			}
+			result.setRows(rows);
+			completed = finish(part, file, result);
+			listener.progress(rows);
+		}
+		finally {
+			if (!completed) {
+				Files.deleteIfExists(part);
+			}
+			result.setElapsedMillis(System.currentTimeMillis() - start);
+		}
+		return result;
+	}
+
+	public ExportResult exportDepartments(Path file, ExportFormat format, boolean compress) throws IOException {
+		long start = System.currentTimeMillis();
+		ExportResult result = new ExportResult(file);
+		Path part = partFileFor(file);
+		boolean completed = false;
+		try {
+			long rows = 0;
+			try (RowWriter writer = openWriter(part, format, compress, DEPARTMENT_CSV_HEADER, DEPARTMENT_JSON_FIELDS)) {
+				Object[] row = new Object[DEPARTMENT_JSON_FIELDS.length];
+				for (Department obj : departmentDao.findAll()) {
+					row[0] = obj.getId();
+					row[1] = obj.getName();
+					writer.writeRow(row);
+					rows++;
+				}
+			}
+			result.setRows(rows);
+			completed = finish(part, file, result);
+		}
+		finally {
+			if (!completed) {
+				Files.deleteIfExists(part);
+			}
+			result.setElapsedMillis(System.currentTimeMillis() - start);
+		}
+		return result;
+	}
+
+	public CompletableFuture<ExportResult> exportSellersAsync(Path file, ExportFormat format, boolean compress,
+			ProgressListener listener, BooleanSupplier cancelled) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return exportSellers(file, format, compress, DEFAULT_FETCH_SIZE, listener, cancelled);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e.getMessage(), e);
+			}
+		}, ServiceExecutor.getExecutor());
+	}
+
+	public CompletableFuture<ExportResult> exportDepartmentsAsync(Path file, ExportFormat format, boolean compress) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return exportDepartments(file, format, compress);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e.getMessage(), e);
+			}
+		}, ServiceExecutor.getExecutor());
+	}
+
+	private static Path partFileFor(Path file) {
+		return file.resolveSibling(file.getFileName() + ".part");
+	}
+
+	private static boolean finish(Path part, Path file, ExportResult result) throws IOException {
+		if (result.isCancelled()) {
+			return false;
+		}
+		Files.move(part, file, StandardCopyOption.REPLACE_EXISTING);
+		result.setBytes(Files.size(file));
+		return true;
+	}
+
+	private static String formatDate(Date date, ZoneId zone) {
+		return date == null ? null : LocalDate.ofInstant(date.toInstant(), zone).toString();
+	}
+
+	private static RowWriter openWriter(Path file, ExportFormat format, boolean compress, String[] csvHeader,
+			String[] jsonFields) throws IOException {
+		OutputStream out = new BufferedOutputStream(Channels.newOutputStream(FileChannel.open(file,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)), BUFFER_SIZE);
+		try {
+			if (compress) {
+				out = new GZIPOutputStream(out, BUFFER_SIZE);
+			}
+			Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+			if (format == ExportFormat.NDJSON) {
+				return new JsonRowWriter(new NdjsonWriter(writer, jsonFields));
+			}
+			CsvWriter csv = new CsvWriter(writer);
+			csv.writeRecord(csvHeader);
+			return new CsvRowWriter(csv, csvHeader.length);
+		}
+		catch (IOException | RuntimeException e) {
+			out.close();
+			throw e;
+		}
+	}
+
+	private interface RowWriter extends Closeable {
+		void writeRow(Object[] values) throws IOException;
+	}
+
+	private static class CsvRowWriter implements RowWriter {
+
+		private final CsvWriter csv;
+		private final String[] fields;
+
+		CsvRowWriter(CsvWriter csv, int columns) {
+			this.csv = csv;
+			fields = new String[columns];
+		}
+
+		@Override
+		public void writeRow(Object[] values) throws IOException {
+			for (int i = 0; i < fields.length; i++) {
+				Object value = values[i];
+				fields[i] = value == null ? null
+						: value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+			}
+			csv.writeRecord(fields);
+		}
+
+		@Override
+		public void close() throws IOException {
+			csv.close();
+		}
+	}
+
+	private static class JsonRowWriter implements RowWriter {
+
+		private final NdjsonWriter json;
+
+		JsonRowWriter(NdjsonWriter json) {
+			this.json = json;
+		}
+
+		@Override
+		public void writeRow(Object[] values) throws IOException {
+			json.writeRecord(values);
+		}
+
+		@Override
+		public void close() throws IOException {
+			json.close();
+		}
+	}
+}
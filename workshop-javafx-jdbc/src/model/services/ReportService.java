@@ -0,0 +1,30 @@
+package model.services;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import model.dao.DaoFactory;
+import model.dao.ReportDao;
+import model.entities.DepartmentPayroll;
+
+public class ReportService {
+	
+	private ReportDao dao;
+	
+	public ReportService() {
+		this(DaoFactory.createReportDao());
+	}
+	
+	public ReportService(ReportDao dao) {
+		this.dao = dao;
+	}
+	
+	public List<DepartmentPayroll> findDepartmentPayroll() {
+		return dao.findDepartmentPayroll(true);
+	}
+	
+	public CompletableFuture<List<DepartmentPayroll>> findDepartmentPayrollAsync() {
+		return CompletableFuture.supplyAsync(this::findDepartmentPayroll, ServiceExecutor.getExecutor());
+	}
+
+}
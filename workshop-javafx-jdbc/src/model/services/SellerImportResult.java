@@ -0,0 +1,102 @@
+package model.services;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SellerImportResult {
+
+	public static class RejectedRow {
+
+		private final int lineNumber;
+		private final String message;
+
+		public RejectedRow(int lineNumber, String message) {
+			this.lineNumber = lineNumber;
+			this.message = message;
+		}
+
+		public int getLineNumber() {
+			return lineNumber;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		@Override
+		public String toString() {
+			return "line " + lineNumber + ": " + message;
+		}
+	}
+
+	private long rowsRead;
+	private long imported;
+	private long rejected;
+	private final List<RejectedRow> rejectedSample = new ArrayList<>();
+	private Path reportFile;
+	private boolean cancelled;
+	private long elapsedMillis;
+
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	void setRowsRead(long rowsRead) {
+		this.rowsRead = rowsRead;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	void addImported(long count) {
+		imported += count;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	void addRejected(RejectedRow row, int maxSample) {
+		rejected++;
+		if (rejectedSample.size() < maxSample) {
+			rejectedSample.add(row);
+		}
+	}
+
+	public List<RejectedRow> getRejectedSample() {
+		return Collections.unmodifiableList(rejectedSample);
+	}
+
+	public Path getReportFile() {
+		return reportFile;
+	}
+
+	void setReportFile(Path reportFile) {
+		this.reportFile = reportFile;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "SellerImportResult [rowsRead=" + rowsRead + ", imported=" + imported + ", rejected=" + rejected
+				+ ", reportFile=" + reportFile + ", cancelled=" + cancelled + ", elapsedMillis=" + elapsedMillis + "]";
+	}
+}
@@ -0,0 +1,348 @@
+package model.services;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import csv.CsvReader;
+import csv.CsvWriter;
+import db.DbBatchException;
+import db.DbException;
+import model.dao.DaoFactory;
+import model.dao.DepartmentDao;
+import model.dao.SellerDao;
+import model.entities.Department;
+import model.entities.Seller;
+import model.events.EntityChangeEvent;
+import model.events.EventBus;
+import model.exceptions.ValidationException;
+
+public class SellerImportService {
+
+	public interface ProgressListener {
+		void progress(long bytesRead, long totalBytes, long imported, long rejected);
+	}
+
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	private static final int ROWS_PER_STATEMENT = 100;
+
+	private static final int MAX_REJECTED_SAMPLE = 200;
+
+	private static final String[] COLUMNS = { "name", "email", "birthdate", "basesalary", "department" };
+
+	private static final DateTimeFormatter[] DATE_FORMATS = {
+			DateTimeFormatter.ofPattern("uuuu-MM-dd").withResolverStyle(ResolverStyle.STRICT),
+			DateTimeFormatter.ofPattern("dd/MM/uuuu").withResolverStyle(ResolverStyle.STRICT) };
+
+	private SellerDao dao;
+	private DepartmentDao departmentDao;
+	private EventBus eventBus = EventBus.getDefault();
+
+	public SellerImportService() {
+		this(DaoFactory.createSellerDao(), DaoFactory.createDepartmentDao());
+	}
+
+	public SellerImportService(SellerDao dao, DepartmentDao departmentDao) {
+		this.dao = dao;
+		this.departmentDao = departmentDao;
+	}
+
+	public static Path reportFileFor(Path file) {
+		return file.resolveSibling(file.getFileName() + ".rejected.csv");
+	}
+
+	public SellerImportResult importFile(Path file, int batchSize, ProgressListener listener,
+			BooleanSupplier cancelled) throws IOException {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		long start = System.currentTimeMillis();
+		long totalBytes = Files.size(file);
+		Import run = new Import(reportFileFor(file));
+		Files.deleteIfExists(run.reportFile);
+
+		try (CountingInputStream counter = new CountingInputStream(Files.newInputStream(file));
+				CsvReader reader = new CsvReader(new InputStreamReader(counter, StandardCharsets.UTF_8))) {
+			String[] header = reader.readRecord();
+			if (header == null) {
+				throw new IOException("The file is empty");
+			}
+			if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+				header[0] = header[0].substring(1);
+			}
+			run.resolveColumns(header);
+			run.loadDepartments();
+
+			String[] record;
+			while ((record = reader.readRecord()) != null) {
+				if (cancelled.getAsBoolean()) {
+					run.result.setCancelled(true);
+					break;
+				}
+				if (record.length == 1 && record[0].isEmpty()) {
+					continue;
+				}
+				run.rowsRead++;
+				run.accept(reader.getLineNumber(), record);
+				if (run.chunk.size() == batchSize) {
+					run.flush();
+				}
+				if (run.rowsRead % batchSize == 0) {
+					listener.progress(counter.getCount(), totalBytes, run.result.getImported(),
+							run.result.getRejected());
+				}
+			}
+			if (!run.result.isCancelled()) {
+				run.flush();
+			}
+			listener.progress(run.result.isCancelled() ? counter.getCount() : totalBytes, totalBytes,
+					run.result.getImported(), run.result.getRejected());
+		}
+		finally {
+			run.closeReport();
+			run.result.setRowsRead(run.rowsRead);
+			run.result.setElapsedMillis(System.currentTimeMillis() - start);
+			if (run.result.getImported() > 0) {
+				eventBus.publish(EntityChangeEvent.bulkInserted(Seller.class));
+			}
+		}
+		return run.result;
+	}
+
+	public CompletableFuture<SellerImportResult> importFileAsync(Path file, int batchSize, ProgressListener listener,
+			BooleanSupplier cancelled) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return importFile(file, batchSize, listener, cancelled);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e.getMessage(), e);
+			}
+		}, ServiceExecutor.getExecutor());
+	}
+
+	private class Import {
+
+		private final Path reportFile;
+		private final SellerImportResult result = new SellerImportResult();
+		private final ZoneId zone = ZoneId.systemDefault();
+
+		private final List<Seller> chunk = new ArrayList<>();
+		private final List<Integer> chunkLines = new ArrayList<>();
+		private final List<String[]> chunkRecords = new ArrayList<>();
+
+		private int[] columnIndexes;
+		private String[] header;
+		private Map<String, Department> departmentsByName;
+		private Map<Integer, Department> departmentsById;
+		private CsvWriter report;
+		private long rowsRead;
+
+		Import(Path reportFile) {
+			this.reportFile = reportFile;
+		}
+
+		void resolveColumns(String[] header) throws IOException {
+			this.header = header;
+			columnIndexes = new int[COLUMNS.length];
+			Arrays.fill(columnIndexes, -1);
+			for (int i = 0; i < header.length; i++) {
+				String label = header[i].trim().replace(" ", "").toLowerCase(Locale.ROOT);
+				for (int c = 0; c < COLUMNS.length; c++) {
+					if (COLUMNS[c].equals(label) && columnIndexes[c] < 0) {
+						columnIndexes[c] = i;
+					}
+				}
+			}
+			List<String> missing = new ArrayList<>();
+			for (int c = 0; c < COLUMNS.length; c++) {
+				if (columnIndexes[c] < 0) {
+					missing.add(COLUMNS[c]);
+				}
+			}
+			if (!missing.isEmpty()) {
+				throw new IOException("Missing column(s) in header: " + String.join(", ", missing));
+			}
+		}
+
+		void loadDepartments() {
+			departmentsByName = new HashMap<>();
+			departmentsById = new HashMap<>();
+			for (Department department : departmentDao.findAll()) {
+				departmentsById.put(department.getId(), department);
+				if (department.getName() != null) {
+					departmentsByName.putIfAbsent(department.getName().trim().toLowerCase(Locale.ROOT), department);
+				}
+			}
+		}
+
+		void accept(int lineNumber, String[] record) throws IOException {
+			if (record.length < header.length) {
+				reject(lineNumber, record, "expected " + header.length + " columns but found " + record.length);
+				return;
+			}
+			String birthDateText = record[columnIndexes[2]];
+			Date birthDate = parseDate(birthDateText);
+			boolean invalidDate = birthDate == null && !birthDateText.isEmpty();
+			String departmentText = record[columnIndexes[4]];
+			Department department = findDepartment(departmentText);
+
+			List<String> errors = new ArrayList<>();
+			Seller seller = null;
+			try {
+				seller = SellerValidator.validate(null, record[columnIndexes[0]], record[columnIndexes[1]],
+						birthDate, record[columnIndexes[3]], department);
+			}
+			catch (ValidationException e) {
+				for (Map.Entry<String, String> error : new TreeMap<>(e.getErrors()).entrySet()) {
+					if (!(invalidDate && error.getKey().equals("birthDate"))) {
+						errors.add(error.getKey() + ": " + error.getValue());
+					}
+				}
+			}
+			if (invalidDate) {
+				errors.add("birthDate: invalid date '" + birthDateText + "'");
+			}
+			if (department == null) {
+				errors.add(departmentText.isEmpty() ? "department: field can't be empty"
+						: "department: unknown department '" + departmentText + "'");
+			}
+			if (!errors.isEmpty()) {
+				reject(lineNumber, record, String.join("; ", errors));
+				return;
+			}
+			chunk.add(seller);
+			chunkLines.add(lineNumber);
+			chunkRecords.add(record);
+		}
+
+		void flush() throws IOException {
+			if (chunk.isEmpty()) {
+				return;
+			}
+			try {
+				dao.bulkInsert(chunk, ROWS_PER_STATEMENT);
+				result.addImported(chunk.size());
+			}
+			catch (DbBatchException e) {
+				// the whole chunk was rolled back, retry row by row to isolate the rows the database refuses
+				for (int i = 0; i < chunk.size(); i++) {
+					try {
+						dao.insert(chunk.get(i));
+						result.addImported(1);
+					}
+					catch (DbException rowError) {
+						reject(chunkLines.get(i), chunkRecords.get(i), rowError.getMessage());
+					}
+				}
+			}
+			chunk.clear();
+			chunkLines.clear();
+			chunkRecords.clear();
+		}
+
+		private Date parseDate(String text) {
+			if (text.isEmpty()) {
+				return null;
+			}
+			for (DateTimeFormatter format : DATE_FORMATS) {
+				try {
+					LocalDate date = LocalDate.parse(text, format);
+					return Date.from(date.atStartOfDay(zone).toInstant());
+				}
+				catch (DateTimeParseException e) {
+					// try the next format
+				}
+			}
+			return null;
+		}
+
+		private Department findDepartment(String text) {
+			if (text.isEmpty()) {
+				return null;
+			}
+			Department department = departmentsByName.get(text.toLowerCase(Locale.ROOT));
+			if (department == null && text.chars().allMatch(Character::isDigit) && text.length() < 10) {
+				department = departmentsById.get(Integer.parseInt(text));
+			}
+			return department;
+		}
+
+		private void reject(int lineNumber, String[] record, String message) throws IOException {
+			result.addRejected(new SellerImportResult.RejectedRow(lineNumber, message), MAX_REJECTED_SAMPLE);
+			if (report == null) {
+				report = new CsvWriter(new BufferedWriter(Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)));
+				String[] reportHeader = new String[header.length + 2];
+				reportHeader[0] = "Line";
+				reportHeader[1] = "Error";
+				System.arraycopy(header, 0, reportHeader, 2, header.length);
+				report.writeRecord(reportHeader);
+				result.setReportFile(reportFile);
+			}
+			String[] row = new String[record.length + 2];
+			row[0] = String.valueOf(lineNumber);
+			row[1] = message;
+			System.arraycopy(record, 0, row, 2, record.length);
+			report.writeRecord(row);
+		}
+
+		void closeReport() throws IOException {
+			if (report != null) {
+				report.close();
+			}
+		}
+	}
+
+	private static class CountingInputStream extends FilterInputStream {
+
+		private volatile long count;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+
+		long getCount() {
+			return count;
+		}
+	}
+}
@@ -1,29 +1,136 @@
 package model.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import model.dao.DaoFactory;
+import model.dao.SellerCriteria;
 import model.dao.SellerDao;
+import model.entities.Department;
 import model.entities.Seller;
+import model.events.EntityChangeEvent;
+import model.events.EventBus;
 
 public class SellerService {
 	
-	private SellerDao dao = DaoFactory.createSellerDao();
+	private SellerDao dao;
+	
+	private SellerUnitOfWork unitOfWork;
+	
+	private EventBus eventBus = EventBus.getDefault();
+	
+	public SellerService() {
+		this(DaoFactory.createSellerDao());
+	}
+	
+	public SellerService(SellerDao dao) {
+		this.dao = dao;
+		unitOfWork = new SellerUnitOfWork(dao);
+	}
 	
 	public List<Seller> findAll() {
 		return dao.findAll();
 	}
 	
-	public void saveOrUpdate(Seller department) {
-		if (department.getId() == null) {
-			dao.insert(department);
-		} else {
-			dao.update(department);
+	public List<Seller> findPage(Seller after, int limit) {
+		if (after == null) {
+			return dao.findPage(null, null, limit);
 		}
+		return dao.findPage(after.getName(), after.getId(), limit);
+	}
+	
+	public List<Seller> findPageByDepartment(Department department, Seller after, int limit) {
+		if (after == null) {
+			return dao.findPageByDepartment(department, null, null, limit);
+		}
+		return dao.findPageByDepartment(department, after.getName(), after.getId(), limit);
+	}
+	
+	public List<Seller> findByCriteria(SellerCriteria criteria) {
+		return dao.findByCriteria(criteria);
+	}
+	
+	public int countByCriteria(SellerCriteria criteria) {
+		return dao.countByCriteria(criteria);
+	}
+	
+	public List<Seller> findRange(SellerCriteria criteria, int offset, int limit) {
+		return dao.findRange(criteria, offset, limit);
+	}
+	
+	// only the seller open in the form is tracked, so the snapshots never outgrow the open dialogs
+	public void track(Seller seller) {
+		unitOfWork.track(seller);
+	}
+	
+	public void untrack(Seller seller) {
+		unitOfWork.untrack(seller);
+	}
+	
+	public boolean saveOrUpdate(Seller seller) {
+		boolean inserting = seller.getId() == null;
+		boolean changed;
+		// the service is shared by every view, so another save must not slip in between
+		synchronized (unitOfWork) {
+			changed = unitOfWork.save(seller);
+			unitOfWork.flush();
+		}
+		if (changed) {
+			eventBus.publish(inserting
+					? EntityChangeEvent.inserted(Seller.class, seller.getId(), snapshot(seller))
+					: EntityChangeEvent.updated(Seller.class, seller.getId(), snapshot(seller)));
+		}
+		return changed;
+	}
+	
+	public void remove(Seller seller) {
+		dao.deleteById(seller.getId());
+		unitOfWork.untrack(seller);
+		eventBus.publish(EntityChangeEvent.deleted(Seller.class, seller.getId()));
+	}
+	
+	public void removeAll(Collection<Seller> sellers) {
+		List<Integer> ids = new ArrayList<>(sellers.size());
+		for (Seller seller : sellers) {
+			ids.add(seller.getId());
+		}
+		dao.deleteByIds(ids);
+		List<EntityChangeEvent<Seller>> events = new ArrayList<>(ids.size());
+		for (Seller seller : sellers) {
+			unitOfWork.untrack(seller);
+			events.add(EntityChangeEvent.deleted(Seller.class, seller.getId()));
+		}
+		eventBus.publishAll(Seller.class, events);
+	}
+	
+	private static Seller snapshot(Seller seller) {
+		Department department = seller.getDepartment();
+		return new Seller(seller.getId(), seller.getName(), seller.getEmail(),
+				seller.getBirthDate() == null ? null : new Date(seller.getBirthDate().getTime()), seller.getBaseSalary(),
+				department == null ? null : new Department(department.getId(), department.getName()));
+	}
+	
+	public CompletableFuture<List<Seller>> findAllAsync() {
+		return CompletableFuture.supplyAsync(this::findAll, ServiceExecutor.getExecutor());
+	}
+	
+	public CompletableFuture<List<Seller>> findByCriteriaAsync(SellerCriteria criteria) {
+		return CompletableFuture.supplyAsync(() -> findByCriteria(criteria), ServiceExecutor.getExecutor());
+	}
+	
+	public CompletableFuture<Boolean> saveOrUpdateAsync(Seller seller) {
+		return CompletableFuture.supplyAsync(() -> saveOrUpdate(seller), ServiceExecutor.getExecutor());
+	}
+	
+	public CompletableFuture<Void> removeAsync(Seller seller) {
+		return CompletableFuture.runAsync(() -> remove(seller), ServiceExecutor.getExecutor());
 	}
 	
-	public void remove(Seller department) {
-		dao.deleteById(department.getId());
+	public CompletableFuture<Void> removeAllAsync(Collection<Seller> sellers) {
+		return CompletableFuture.runAsync(() -> removeAll(sellers), ServiceExecutor.getExecutor());
 	}
 
 }
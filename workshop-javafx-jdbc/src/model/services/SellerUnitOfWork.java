@@ -0,0 +1,119 @@
+package model.services;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import model.dao.SellerDao;
+import model.dao.SellerField;
+import model.entities.Department;
+import model.entities.Seller;
+
+public class SellerUnitOfWork {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final SellerDao dao;
+
+	private final Map<Integer, Seller> snapshots = new HashMap<>();
+	private final List<Seller> pendingInserts = new ArrayList<>();
+	private final Map<Seller, Set<SellerField>> pendingUpdates = new LinkedHashMap<>();
+
+	public SellerUnitOfWork(SellerDao dao) {
+		this.dao = dao;
+	}
+
+	public synchronized void track(Seller seller) {
+		if (seller.getId() != null) {
+			snapshots.put(seller.getId(), copy(seller));
+		}
+	}
+
+	public synchronized void untrack(Seller seller) {
+		snapshots.remove(seller.getId());
+	}
+
+	public synchronized boolean save(Seller seller) {
+		if (seller.getId() == null) {
+			pendingInserts.add(seller);
+			return true;
+		}
+		pendingUpdates.remove(seller);
+		Set<SellerField> fields = changedFields(seller);
+		if (fields.isEmpty()) {
+			return false;
+		}
+		pendingUpdates.put(seller, fields);
+		return true;
+	}
+
+	public synchronized Set<SellerField> changedFields(Seller seller) {
+		Seller snapshot = snapshots.get(seller.getId());
+		if (snapshot == null) {
+			return EnumSet.allOf(SellerField.class);
+		}
+		Set<SellerField> fields = EnumSet.noneOf(SellerField.class);
+		if (!Objects.equals(snapshot.getName(), seller.getName())) {
+			fields.add(SellerField.NAME);
+		}
+		if (!Objects.equals(snapshot.getEmail(), seller.getEmail())) {
+			fields.add(SellerField.EMAIL);
+		}
+		if (!Objects.equals(timeOf(snapshot), timeOf(seller))) {
+			fields.add(SellerField.BIRTH_DATE);
+		}
+		if (!Objects.equals(snapshot.getBaseSalary(), seller.getBaseSalary())) {
+			fields.add(SellerField.BASE_SALARY);
+		}
+		if (!Objects.equals(idOf(snapshot.getDepartment()), idOf(seller.getDepartment()))) {
+			fields.add(SellerField.DEPARTMENT);
+		}
+		return fields;
+	}
+
+	public synchronized boolean hasPendingChanges() {
+		return !pendingInserts.isEmpty() || !pendingUpdates.isEmpty();
+	}
+
+	public synchronized void flush() {
+		if (!hasPendingChanges()) {
+			return;
+		}
+		List<Seller> inserts = new ArrayList<>(pendingInserts);
+		Map<Seller, Set<SellerField>> updates = new LinkedHashMap<>(pendingUpdates);
+		pendingInserts.clear();
+		pendingUpdates.clear();
+
+		dao.applyChanges(inserts, updates, BATCH_SIZE);
+
+		// the edit ends with the save, the next one tracks the seller again
+		for (Seller seller : updates.keySet()) {
+			untrack(seller);
+		}
+	}
+
+	public synchronized void clear() {
+		snapshots.clear();
+		pendingInserts.clear();
+		pendingUpdates.clear();
+	}
+
+	private static Seller copy(Seller seller) {
+		return new Seller(seller.getId(), seller.getName(), seller.getEmail(),
+				seller.getBirthDate() == null ? null : new java.util.Date(seller.getBirthDate().getTime()),
+				seller.getBaseSalary(), seller.getDepartment());
+	}
+
+	private static Long timeOf(Seller seller) {
+		return seller.getBirthDate() == null ? null : seller.getBirthDate().getTime();
+	}
+
+	private static Integer idOf(Department department) {
+		return department == null ? null : department.getId();
+	}
+}
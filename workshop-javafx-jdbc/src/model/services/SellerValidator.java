@@ -0,0 +1,69 @@
+package model.services;
+
+import java.util.Date;
+
+import model.entities.Department;
+import model.entities.Seller;
+import model.exceptions.ValidationException;
+
+public class SellerValidator {
+
+	public static final int NAME_MAX_LENGTH = 60;
+	public static final int EMAIL_MAX_LENGTH = 100;
+
+	public static Seller validate(Integer id, String name, String email, Date birthDate, String baseSalary,
+			Department department) {
+		ValidationException exception = new ValidationException("Validation Error.");
+		Seller seller = new Seller();
+		seller.setId(id);
+
+		if (isBlank(name)) {
+			exception.addError("name", "field can't be empty");
+		} else if (name.length() > NAME_MAX_LENGTH) {
+			exception.addError("name", "maximum " + NAME_MAX_LENGTH + " characters");
+		}
+		seller.setName(name);
+
+		if (isBlank(email)) {
+			exception.addError("email", "field can't be empty");
+		} else if (email.length() > EMAIL_MAX_LENGTH) {
+			exception.addError("email", "maximum " + EMAIL_MAX_LENGTH + " characters");
+		}
+		seller.setEmail(email);
+
+		if (birthDate == null) {
+			exception.addError("birthDate", "field can't be empty");
+		}
+		seller.setBirthDate(birthDate);
+
+		if (isBlank(baseSalary)) {
+			exception.addError("baseSalary", "field can't be empty");
+		} else {
+			Double value = tryParseToDouble(baseSalary.trim());
+			if (value == null) {
+				exception.addError("baseSalary", "invalid number");
+			}
+			seller.setBaseSalary(value);
+		}
+
+		seller.setDepartment(department);
+
+		if (exception.getErrors().size() > 0) {
+			throw exception;
+		}
+
+		return seller;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.trim().equals("");
+	}
+
+	private static Double tryParseToDouble(String string) {
+		try {
+			return Double.parseDouble(string);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package model.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import db.DB;
+
+public class ServiceExecutor {
+
+	private static ExecutorService executor = null;
+
+	public static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = createExecutor();
+		}
+		return executor;
+	}
+
+	private static ExecutorService createExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			int threads = Integer.parseInt(DB.getProperties().getProperty("pool.maxSize", "10"));
+			AtomicInteger count = new AtomicInteger();
+			return Executors.newFixedThreadPool(threads, r -> {
+				Thread t = new Thread(r, "service-worker-" + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			});
+		}
+	}
+
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+}
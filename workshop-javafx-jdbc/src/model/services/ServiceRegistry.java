@@ -0,0 +1,75 @@
+package model.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import model.dao.DaoFactory;
+import model.dao.DepartmentDao;
+import model.dao.ReportDao;
+import model.dao.SellerDao;
+
+// One shared instance per service or DAO type, created on first use. The DAO decorators (cache, metrics) are
+// still chosen by DaoFactory; this is where the services are wired to them.
+public class ServiceRegistry {
+
+	private static final ServiceRegistry DEFAULT = new ServiceRegistry();
+
+	private final Map<Class<?>, Entry<?>> entries = new ConcurrentHashMap<>();
+
+	public ServiceRegistry() {
+		register(SellerDao.class, registry -> DaoFactory.createSellerDao());
+		register(DepartmentDao.class, registry -> DaoFactory.createDepartmentDao());
+		register(ReportDao.class, registry -> DaoFactory.createReportDao());
+		register(SellerService.class, registry -> new SellerService(registry.get(SellerDao.class)));
+		register(DepartmentService.class, registry -> new DepartmentService(registry.get(DepartmentDao.class)));
+		register(ReportService.class, registry -> new ReportService(registry.get(ReportDao.class)));
+		register(SellerImportService.class, registry -> new SellerImportService(registry.get(SellerDao.class),
+				registry.get(DepartmentDao.class)));
+		register(ExportService.class, registry -> new ExportService(registry.get(SellerDao.class),
+				registry.get(DepartmentDao.class)));
+	}
+
+	public static ServiceRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	// replaces the factory for a type, e.g. to put a stub DAO under the real services; instances created
+	// from the previous factory are dropped, so register replacements before the services are first used
+	public <T> void register(Class<T> type, Function<ServiceRegistry, ? extends T> factory) {
+		entries.put(type, new Entry<>(factory));
+	}
+
+	public <T> T get(Class<T> type) {
+		Entry<?> entry = entries.get(type);
+		if (entry == null) {
+			throw new IllegalArgumentException("No service registered for " + type.getName());
+		}
+		return type.cast(entry.get(this));
+	}
+
+	private static class Entry<T> {
+
+		private final Function<ServiceRegistry, ? extends T> factory;
+		private volatile T instance;
+
+		Entry(Function<ServiceRegistry, ? extends T> factory) {
+			this.factory = factory;
+		}
+
+		// a plain lock per entry rather than computeIfAbsent, since factories look up their own dependencies
+		T get(ServiceRegistry registry) {
+			T result = instance;
+			if (result == null) {
+				synchronized (this) {
+					result = instance;
+					if (result == null) {
+						result = factory.apply(registry);
+						instance = result;
+					}
+				}
+			}
+			return result;
+		}
+	}
+}